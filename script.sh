@@ -1,7 +1,7 @@
 #!/bin/bash
 
 if [ $# == 0 ]; then
-  echo "No command specified. Available commands: generate, push"
+  echo "No command specified. Available commands: generate, push, batch, watch, serve"
 	exit
 fi
 
@@ -9,6 +9,27 @@ command=$1
 cmdline=$@
 echo "-->OpenAPI Generator Postman run ($cmdline)"
 
+if [[ $command == "batch" ]]
+then
+  # all specs of a directory (or listed in a manifest) in one JVM: batch <specs dir | manifest.json> <output dir> [threads]
+  java -cp /openapi-generator-postman-v2.jar com.adyen.codegen.postman.PostmanBatchGenerator ${cmdline#*batch}
+  exit $?
+fi
+
+if [[ $command == "watch" ]]
+then
+  # regenerate after each change of the spec: watch <inputSpec> <output dir> [key=value,key=value]
+  java -cp /openapi-generator-postman-v2.jar com.adyen.codegen.postman.PostmanWatcher ${cmdline#*watch}
+  exit $?
+fi
+
+if [[ $command == "serve" ]]
+then
+  # generation server: serve [port] [threads] [bind address]
+  java -cp /openapi-generator-postman-v2.jar com.adyen.codegen.postman.PostmanServer ${cmdline#*serve}
+  exit $?
+fi
+
 if [[ $command == "generate" ]]
 then
   cmdparams="${cmdline#*generate}"
@@ -30,17 +51,18 @@ then
   exit 1
 fi
 
-output_file=$(find /usr/src/app -name "postman.json" | sort -nr | head -n 1)
+output_file=$(find /usr/src/app \( -name "postman.json" -o -name "postman.json.gz" \) | sort -nr | head -n 1)
 
 if [[ $command == "push" ]]
 then
   echo "--> Pushing to Postman"
 
-  var=$(cat "$output_file")
-
-  echo '{"collection": '"$var"' }' | curl -X POST \
-  --header 'Content-Type: application/json' \
-  --header 'X-API-Key: '"${POSTMAN_API_KEY}"'' \
-  -d @- "https://api.getpostman.com/collections"
-
+  # streams the collection (POSTMAN_API_URL overrides the Postman API base url)
+  pushparams=""
+  if [[ $POSTMAN_PUSH_GZIP == "true" ]]
+  then
+    pushparams="--gzip"
+  fi
+  java -cp /openapi-generator-postman-v2.jar com.adyen.codegen.postman.PostmanPushClient "$output_file" $pushparams
+  exit $?
 fi
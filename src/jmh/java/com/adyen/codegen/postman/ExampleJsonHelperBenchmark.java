@@ -0,0 +1,118 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.models.examples.Example;
+import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.CodegenProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the ExampleJsonHelper methods building the request and response bodies.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ExampleJsonHelperBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExampleJsonHelperBenchmark {
+
+    // number of attributes (and line items) in the example payload
+    @Param({"10", "200"})
+    public int size;
+
+    private ExampleJsonHelper exampleJsonHelper;
+    private Example objectNodeExample;
+    private Example mapExample;
+    private String json;
+    private CodegenParameter codegenParameter;
+
+    @Setup
+    public void setup() {
+        exampleJsonHelper = new ExampleJsonHelper();
+
+        // example parsed from JSON (ObjectNode)
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("merchantAccount", "YOUR_MERCHANT_ACCOUNT");
+        objectNode.putObject("amount").put("currency", "EUR").put("value", 1000);
+        ArrayNode lineItems = objectNode.putArray("lineItems");
+        for (int i = 0; i < size; i++) {
+            lineItems.addObject()
+                    .put("id", "item" + i)
+                    .put("description", "Shoes \"size " + i + "\"")
+                    .put("quantity", i % 5 + 1)
+                    .put("amountIncludingTax", 400.5 + i);
+        }
+        objectNodeExample = new Example().value(objectNode);
+        json = objectNode.toString();
+
+        // example parsed from YAML (Map)
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("merchantAccount", "YOUR_MERCHANT_ACCOUNT");
+        map.put("amount", new LinkedHashMap<>(Map.of("currency", "EUR", "value", 1000)));
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", "item" + i);
+            item.put("description", "Shoes \"size " + i + "\"");
+            item.put("quantity", i % 5 + 1);
+            item.put("amountIncludingTax", 400.5 + i);
+            items.add(item);
+        }
+        map.put("lineItems", items);
+        mapExample = new Example().value(map);
+
+        // request body schema
+        codegenParameter = new CodegenParameter();
+        codegenParameter.vars = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            CodegenProperty codegenProperty = new CodegenProperty();
+            codegenProperty.baseName = "attribute" + i;
+            codegenProperty.isNumeric = i % 3 == 0;
+            codegenProperty.isBoolean = i % 3 == 1;
+            codegenProperty.isString = i % 3 == 2;
+            codegenParameter.vars.add(codegenProperty);
+        }
+    }
+
+    @Benchmark
+    public String getJsonFromObjectNodeExample() {
+        return exampleJsonHelper.getJsonFromExample(objectNodeExample);
+    }
+
+    @Benchmark
+    public String getJsonFromMapExample() {
+        return exampleJsonHelper.getJsonFromExample(mapExample);
+    }
+
+    @Benchmark
+    public String formatJson() {
+        return exampleJsonHelper.formatJson(json);
+    }
+
+    @Benchmark
+    public String getJsonFromSchema() {
+        return exampleJsonHelper.getJsonFromSchema(codegenParameter);
+    }
+}
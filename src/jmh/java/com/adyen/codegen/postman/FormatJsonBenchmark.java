@@ -0,0 +1,107 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous example formatting (toString, readTree, Json.pretty and two string replaces)
+ * with the single pass pretty print into the escaped form.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="FormatJsonBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatJsonBenchmark {
+
+    // number of line items in the example payload
+    @Param({"10", "500"})
+    public int size;
+
+    private ExampleJsonHelper exampleJsonHelper;
+    private ObjectNode example;
+    private String exampleJson;
+
+    @Setup
+    public void setup() {
+        exampleJsonHelper = new ExampleJsonHelper();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        example = objectMapper.createObjectNode();
+        example.put("merchantAccount", "YOUR_MERCHANT_ACCOUNT");
+        example.put("reference", "YOUR_ORDER_NUMBER");
+        example.put("returnUrl", "https://your-company.com/checkout?shopperOrder=12xy..");
+        example.putObject("amount").put("currency", "EUR").put("value", 1000);
+        ObjectNode paymentMethod = example.putObject("paymentMethod");
+        paymentMethod.put("type", "scheme");
+        paymentMethod.put("encryptedCardNumber", "test_4111111111111111");
+        paymentMethod.put("holderName", "John \"Johnny\" Smith");
+
+        ArrayNode lineItems = example.putArray("lineItems");
+        for (int i = 0; i < size; i++) {
+            ObjectNode lineItem = lineItems.addObject();
+            lineItem.put("id", "item" + i);
+            lineItem.put("description", "Shoes\nsize " + i);
+            lineItem.put("quantity", i % 5 + 1);
+            lineItem.put("amountIncludingTax", 400 + i);
+            lineItem.put("taxPercentage", 2100);
+        }
+
+        exampleJson = example.toString();
+    }
+
+    @Benchmark
+    public String legacyConvertToJson() {
+        return legacyFormatJson(example.toString());
+    }
+
+    @Benchmark
+    public String convertToJson() {
+        return exampleJsonHelper.convertToJson(example);
+    }
+
+    @Benchmark
+    public String legacyFormatJson() {
+        return legacyFormatJson(exampleJson);
+    }
+
+    @Benchmark
+    public String formatJson() {
+        return exampleJsonHelper.formatJson(exampleJson);
+    }
+
+    // copy of the formatting before the single pass pretty print
+    private static String legacyFormatJson(String json) {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try {
+            JsonNode actualObj = objectMapper.readTree(json);
+            json = Json.pretty(actualObj);
+            json = json.replace("\"", "\\\"");
+            json = json.replace("\n", "\\n");
+        } catch (Exception e) {
+            json = "";
+        }
+
+        return json;
+    }
+}
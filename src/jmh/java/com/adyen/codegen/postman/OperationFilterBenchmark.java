@@ -0,0 +1,81 @@
+package com.adyen.codegen.postman;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Generation of the full collection compared to audience-specific collections (includeTags): the operations left out
+ * are removed before processing, so the time follows the number of selected operations.
+ * With pruneComponents the components they alone reference are removed as well.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="OperationFilterBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OperationFilterBenchmark {
+
+    @Param({"CheckoutService-v71.yaml"})
+    public String spec;
+
+    // empty: all operations
+    @Param({"", "Payments|Modifications", "Payments"})
+    public String includeTags;
+
+    @Param({"false", "true"})
+    public boolean pruneComponents;
+
+    private Path output;
+
+    @Setup
+    public void setup() throws IOException {
+        output = Files.createTempDirectory("postmanbenchmark_");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(output)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec("src/test/resources/" + spec)
+                .addAdditionalProperty(PostmanV2Generator.PRUNE_COMPONENTS, pruneComponents)
+                .setOutputDir(output.toAbsolutePath().toString().replace("\\", "/"));
+        if (!includeTags.isEmpty()) {
+            configurator.addAdditionalProperty(PostmanV2Generator.INCLUDE_TAGS, includeTags);
+        }
+
+        final ClientOptInput clientOptInput = configurator.toClientOptInput();
+        return new DefaultGenerator().opts(clientOptInput).generate();
+    }
+}
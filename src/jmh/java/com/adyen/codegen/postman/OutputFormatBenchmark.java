@@ -0,0 +1,117 @@
+package com.adyen.codegen.postman;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writing of postman.json (CheckoutService-v71.yaml) pretty printed, minified and gzip-compressed: write time of the
+ * collection only (operations processed once in the setup), the output size of each format is printed at the end of the trial.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="OutputFormatBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputFormatBenchmark {
+
+    @Param({"Pretty", "Minified", "Gzip", "MinifiedGzip"})
+    public String format;
+
+    private Path output;
+    private Map<String, Object> bundle;
+    private boolean gzip;
+    private long outputBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        output = Files.createTempDirectory("postmanbenchmark_");
+        gzip = format.endsWith("Gzip");
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName(CapturingGenerator.class.getName())
+                .setInputSpec("src/test/resources/CheckoutService-v71.yaml")
+                .addAdditionalProperty(PostmanV2Generator.OUTPUT_ENGINE, "Streaming")
+                .addAdditionalProperty(PostmanV2Generator.MINIFY_OUTPUT, format.startsWith("Minified"))
+                .addAdditionalProperty(PostmanV2Generator.GZIP_OUTPUT, gzip)
+                .setOutputDir(output.toAbsolutePath().toString().replace("\\", "/"));
+
+        final ClientOptInput clientOptInput = configurator.toClientOptInput();
+        new DefaultGenerator().opts(clientOptInput).generate();
+        bundle = ((CapturingGenerator) clientOptInput.getConfig()).bundle;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.println();
+        System.out.println(format + ": " + outputBytes + " bytes");
+        try (Stream<Path> paths = Files.walk(output)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (OutputStream outputStream = PostmanCollectionWriter.newOutputStream(counter, gzip)) {
+            new PostmanCollectionWriter(bundle).write(outputStream);
+        }
+        outputBytes = counter.count;
+        return outputBytes;
+    }
+
+    /**
+     * Generator keeping the supporting file data instead of writing postman.json
+     */
+    public static class CapturingGenerator extends PostmanV2Generator {
+
+        private Map<String, Object> bundle;
+
+        @Override
+        void writeCollection(Map<String, Object> bundle) {
+            this.bundle = bundle;
+        }
+    }
+
+    // bytes written (discarded)
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count = 0;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
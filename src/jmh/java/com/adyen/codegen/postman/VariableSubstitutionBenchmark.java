@@ -0,0 +1,95 @@
+package com.adyen.codegen.postman;
+
+import com.adyen.codegen.postman.model.PostmanRequestItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the postmanVariables and generatedVariables substitution in the request bodies of an operation.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="VariableSubstitutionBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariableSubstitutionBenchmark {
+
+    private static final int NUM_REQUESTS = 50;
+
+    // number of configured variable names (half postmanVariables, half generatedVariables)
+    @Param({"4", "40"})
+    public int variables;
+
+    private PostmanV2Generator postmanV2Generator;
+    private List<String> bodies;
+    private List<PostmanRequestItem> postmanRequests;
+
+    @Setup
+    public void setup() {
+        String[] postmanVariableNames = new String[variables / 2];
+        String[] generatedVariableNames = new String[variables - variables / 2];
+        for (int i = 0; i < postmanVariableNames.length; i++) {
+            postmanVariableNames[i] = "YOUR_VARIABLE_" + i;
+        }
+        for (int i = 0; i < generatedVariableNames.length; i++) {
+            generatedVariableNames[i] = "GENERATED_VALUE_" + i;
+        }
+
+        postmanV2Generator = new PostmanV2Generator();
+        postmanV2Generator.postmanVariableNames = postmanVariableNames;
+        postmanV2Generator.generatedVariableNames = generatedVariableNames;
+
+        // escaped request bodies, each referencing a few of the variables
+        bodies = new ArrayList<>();
+        for (int r = 0; r < NUM_REQUESTS; r++) {
+            StringBuilder sb = new StringBuilder("{\\n");
+            for (int a = 0; a < 30; a++) {
+                String value;
+                if (a % 10 == 0) {
+                    value = postmanVariableNames[(r + a) % postmanVariableNames.length];
+                } else if (a % 10 == 5) {
+                    value = generatedVariableNames[(r + a) % generatedVariableNames.length];
+                } else {
+                    value = "value" + a;
+                }
+                sb.append("  \\\"attribute").append(a).append("\\\": \\\"").append(value).append("\\\",\\n");
+            }
+            sb.append("  \\\"reference\\\": \\\"YOUR_ORDER_NUMBER\\\"\\n}");
+            bodies.add(sb.toString());
+        }
+    }
+
+    // request items are modified in place: recreate them before each call
+    @Setup(Level.Invocation)
+    public void createRequests() {
+        postmanRequests = new ArrayList<>(NUM_REQUESTS);
+        for (String body : bodies) {
+            postmanRequests.add(new PostmanRequestItem("request", body, "POST"));
+        }
+    }
+
+    @Benchmark
+    public List<PostmanRequestItem> substituteVariables() {
+        Set<String> matchedVariables = new HashSet<>();
+        return postmanV2Generator.substituteVariables(postmanRequests, matchedVariables);
+    }
+}
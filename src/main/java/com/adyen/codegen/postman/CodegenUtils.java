@@ -1,13 +1,28 @@
 package com.adyen.codegen.postman;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.openapitools.codegen.ClientOptInput;
 import org.openapitools.codegen.CodegenResponse;
+import org.openapitools.codegen.config.CodegenConfigurator;
 
 import java.net.HttpURLConnection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class CodegenUtils {
 
+    // the spec parser is not thread-safe: concurrent parsing can return the content of another spec
+    private static final Object PARSER_LOCK = new Object();
+
     /**
      * get HTTP Status Code as text
      *
@@ -24,4 +39,74 @@ public class CodegenUtils {
                 , ""
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Parse the spec and create the generator input, one spec at a time (the generation itself can run concurrently)
+     *
+     * @param configurator configuration of the generation
+     * @return input of DefaultGenerator
+     */
+    public static ClientOptInput toClientOptInput(CodegenConfigurator configurator) {
+        synchronized (PARSER_LOCK) {
+            return configurator.toClientOptInput();
+        }
+    }
+
+    /**
+     * Parse the content of a spec (JSON or YAML), one spec at a time as {@link #toClientOptInput(CodegenConfigurator)}
+     *
+     * @param content spec
+     * @return parsed spec (external $ref are not supported without a location)
+     * @throws IllegalArgumentException the content is not a valid spec
+     */
+    public static OpenAPI parse(String content) {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+
+        SwaggerParseResult result;
+        synchronized (PARSER_LOCK) {
+            result = new OpenAPIParser().readContents(content, null, options);
+        }
+        if (result.getOpenAPI() == null) {
+            throw new IllegalArgumentException("Invalid spec: " + String.join(", ", Objects.requireNonNullElse(result.getMessages(), List.of())));
+        }
+        return result.getOpenAPI();
+    }
+
+    /**
+     * Parse the content of a spec received from an untrusted client: external $ref (remote urls or local files) are
+     * rejected instead of being fetched by the parser, only the references within the spec (#/...) are resolved
+     *
+     * @param content spec
+     * @return parsed spec
+     * @throws IllegalArgumentException the content is not a valid spec or has an external $ref
+     */
+    public static OpenAPI parseUntrusted(String content) {
+        JsonNode root;
+        try {
+            // YAML parser: also reads JSON
+            root = Yaml.mapper().readTree(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid spec: " + e.getOriginalMessage());
+        }
+        checkLocalRefs(root);
+        return parse(content);
+    }
+
+    private static void checkLocalRefs(JsonNode node) {
+        if (node == null) {
+            return;
+        }
+        if (node.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getKey().equals("$ref") && field.getValue().isTextual() && !field.getValue().asText().startsWith("#")) {
+                    throw new IllegalArgumentException("External $ref not supported: " + field.getValue().asText());
+                }
+                checkLocalRefs(field.getValue());
+            }
+        } else if (node.isArray()) {
+            node.forEach(CodegenUtils::checkLocalRefs);
+        }
+    }
+}
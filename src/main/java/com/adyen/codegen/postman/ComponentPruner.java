@@ -0,0 +1,83 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remove the components not reachable from the operations of the spec (directly or indirectly with $ref,
+ * including discriminator mappings), so the generator does not process them.
+ * <p>
+ * Run after the operation filters: only the components of the selected operations are kept.
+ * Security schemes are referenced by name (security requirements) and always kept.
+ */
+public class ComponentPruner {
+
+    private final ObjectMapper objectMapper = Json.mapper();
+
+    // number of components removed by type (ie schemas, examples)
+    private final Map<String, Integer> pruned = new LinkedHashMap<>();
+
+    /**
+     * @param openAPI Spec (modified)
+     * @return number of components removed
+     */
+    public int prune(OpenAPI openAPI) {
+        Components components = openAPI.getComponents();
+        if (components == null) {
+            return 0;
+        }
+
+        // roots: operations and webhooks
+        Set<String> roots = new HashSet<>();
+        if (openAPI.getPaths() != null) {
+            openAPI.getPaths().values().forEach(pathItem ->
+                    roots.addAll(ComponentRefs.findRefs(objectMapper.valueToTree(pathItem))));
+        }
+        if (openAPI.getWebhooks() != null) {
+            openAPI.getWebhooks().values().forEach(pathItem ->
+                    roots.addAll(ComponentRefs.findRefs(objectMapper.valueToTree(pathItem))));
+        }
+
+        // transitive closure
+        Set<String> reachable = ComponentRefs.getClosure(roots, ref -> {
+            Object component = ComponentRefs.resolve(components, ref);
+            return component != null ? ComponentRefs.findRefs(objectMapper.valueToTree(component)) : Set.of();
+        });
+
+        prune("schemas", components.getSchemas(), reachable);
+        prune("responses", components.getResponses(), reachable);
+        prune("parameters", components.getParameters(), reachable);
+        prune("examples", components.getExamples(), reachable);
+        prune("requestBodies", components.getRequestBodies(), reachable);
+        prune("headers", components.getHeaders(), reachable);
+        prune("links", components.getLinks(), reachable);
+        prune("callbacks", components.getCallbacks(), reachable);
+
+        return pruned.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * @return number of components removed by type (types with removed components only)
+     */
+    public Map<String, Integer> getPruned() {
+        return pruned;
+    }
+
+    private void prune(String type, Map<String, ?> definitions, Set<String> reachable) {
+        if (definitions == null) {
+            return;
+        }
+        int size = definitions.size();
+        definitions.keySet().removeIf(name -> !reachable.contains(ComponentRefs.COMPONENTS_PREFIX + type + "/" + name));
+        if (definitions.size() < size) {
+            pruned.put(type, size - definitions.size());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.Components;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * References between components ($ref and discriminator mappings), shared by the operation hashes
+ * and the pruning of the unused components.
+ */
+public class ComponentRefs {
+
+    static final String COMPONENTS_PREFIX = "#/components/";
+
+    private ComponentRefs() {
+    }
+
+    /**
+     * @param roots $ref to start from
+     * @param referencedBy $ref found in the component of a $ref (empty when not found)
+     * @return roots and all the $ref reachable from them, sorted
+     */
+    public static Set<String> getClosure(Collection<String> roots, Function<String, Set<String>> referencedBy) {
+        Set<String> refs = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(roots);
+
+        while (!pending.isEmpty()) {
+            String ref = pending.pop();
+            if (refs.add(ref)) {
+                pending.addAll(referencedBy.apply(ref));
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * @param definitions Components of the spec (can be null)
+     * @param ref $ref of a component (ie #/components/schemas/name)
+     * @return component, null when not found
+     */
+    public static Object resolve(Components definitions, String ref) {
+        if (definitions == null || !ref.startsWith(COMPONENTS_PREFIX)) {
+            return null;
+        }
+        String[] parts = ref.substring(COMPONENTS_PREFIX.length()).split("/", 2);
+        if (parts.length != 2) {
+            return null;
+        }
+
+        Map<String, ?> map;
+        switch (parts[0]) {
+            case "schemas": map = definitions.getSchemas(); break;
+            case "responses": map = definitions.getResponses(); break;
+            case "parameters": map = definitions.getParameters(); break;
+            case "examples": map = definitions.getExamples(); break;
+            case "requestBodies": map = definitions.getRequestBodies(); break;
+            case "headers": map = definitions.getHeaders(); break;
+            case "securitySchemes": map = definitions.getSecuritySchemes(); break;
+            case "links": map = definitions.getLinks(); break;
+            case "callbacks": map = definitions.getCallbacks(); break;
+            default: map = null;
+        }
+        return map != null ? map.get(parts[1]) : null;
+    }
+
+    /**
+     * @param node Serialized operation, path item or component
+     * @return $ref and discriminator mappings (schema names or $ref) found in the node, sorted
+     */
+    public static Set<String> findRefs(JsonNode node) {
+        Set<String> refs = new TreeSet<>();
+        Deque<JsonNode> nodes = new ArrayDeque<>();
+        nodes.push(node);
+
+        while (!nodes.isEmpty()) {
+            JsonNode current = nodes.pop();
+            if (current.isObject()) {
+                JsonNode ref = current.get("$ref");
+                if (ref != null && ref.isTextual()) {
+                    refs.add(ref.asText());
+                }
+                JsonNode mapping = current.path("discriminator").path("mapping");
+                mapping.forEach(value -> refs.add(value.asText().startsWith("#/")
+                        ? value.asText() : COMPONENTS_PREFIX + "schemas/" + value.asText()));
+            }
+            current.forEach(nodes::push);
+        }
+        return refs;
+    }
+}
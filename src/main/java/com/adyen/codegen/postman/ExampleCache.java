@@ -0,0 +1,104 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.examples.Example;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Component examples (components/examples) serialized once per generation and shared
+ * by all requests and responses referencing them.
+ */
+public class ExampleCache {
+
+    private final Map<String, CachedExample> examples;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final ExampleJsonHelper exampleJsonHelper;
+
+    public ExampleCache() {
+        this(new ExampleJsonHelper());
+    }
+
+    /**
+     * @param exampleJsonHelper Serializes the examples
+     */
+    public ExampleCache(ExampleJsonHelper exampleJsonHelper) {
+        this(new ConcurrentHashMap<>(), exampleJsonHelper);
+    }
+
+    private ExampleCache(Map<String, CachedExample> examples, ExampleJsonHelper exampleJsonHelper) {
+        this.examples = examples;
+        this.exampleJsonHelper = exampleJsonHelper;
+    }
+
+    /**
+     * Cache of one generation sharing the examples of this cache (i.e serialized by the previous generations of the same spec),
+     * with its own hit and miss counters
+     */
+    public ExampleCache forGeneration() {
+        return new ExampleCache(examples, exampleJsonHelper);
+    }
+
+    /**
+     * Get the escaped body and summary of a component example, resolving and serializing it on the first lookup
+     * @param name Name of the example in components/examples
+     * @param resolver Finds the example by name (null when not defined)
+     * @return Cached example (empty body when the example is not defined)
+     */
+    public CachedExample get(String name, Function<String, Example> resolver) {
+        boolean[] serialized = {false};
+
+        CachedExample cachedExample = examples.computeIfAbsent(name, key -> {
+            serialized[0] = true;
+            Example example = resolver.apply(key);
+            String summary = example != null ? example.getSummary() : null;
+            return new CachedExample(exampleJsonHelper.getJsonFromExample(example), summary);
+        });
+        (serialized[0] ? misses : hits).incrementAndGet();
+
+        return cachedExample;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return examples.size();
+    }
+
+    public void clear() {
+        examples.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Example body (already escaped for the Postman file) and its summary
+     */
+    public static class CachedExample {
+
+        private final String body;
+        private final String summary;
+
+        CachedExample(String body, String summary) {
+            this.body = body;
+            this.summary = summary;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+    }
+}
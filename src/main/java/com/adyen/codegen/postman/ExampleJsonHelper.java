@@ -1,55 +1,72 @@
 package com.adyen.codegen.postman;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.examples.Example;
 import org.openapitools.codegen.CodegenParameter;
 import org.openapitools.codegen.CodegenProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
 import java.util.Map;
 
 import static com.adyen.codegen.postman.PostmanV2Generator.JSON_ESCAPE_DOUBLE_QUOTE;
 import static com.adyen.codegen.postman.PostmanV2Generator.JSON_ESCAPE_NEW_LINE;
 
 /**
- * Extract and format JSON examples
+ * Extract and format JSON examples (stateless: one instance is shared by the operations of a generation)
  */
 public class ExampleJsonHelper {
 
-    private final Logger LOGGER = LoggerFactory.getLogger(ExampleJsonHelper.class);
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExampleJsonHelper.class);
+
+    // shared (thread-safe) mapper and writer
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectWriter PRETTY_WRITER = OBJECT_MAPPER.writer(
+            new DefaultPrettyPrinter().withObjectIndenter(new DefaultIndenter("  ", "\n")));
 
     // generate JSON (string) escaping and formatting
     String getJsonFromSchema(CodegenParameter codegenParameter) {
+        StringBuilder sb = new StringBuilder();
 
-        String ret = "{" + JSON_ESCAPE_NEW_LINE + " ";
-
-        int numVars = codegenParameter.vars.size();
-        int counter = 1;
+        sb.append('{').append(JSON_ESCAPE_NEW_LINE).append(' ');
 
+        boolean first = true;
         for (CodegenProperty codegenProperty : codegenParameter.vars) {
-            ret = ret + JSON_ESCAPE_DOUBLE_QUOTE + codegenProperty.baseName + JSON_ESCAPE_DOUBLE_QUOTE + ": " +
-                    JSON_ESCAPE_DOUBLE_QUOTE + "<" + getPostmanType(codegenProperty) + ">" + JSON_ESCAPE_DOUBLE_QUOTE;
-
-            if(counter < numVars) {
+            if(!first) {
                 // add comma unless last attribute
-                ret = ret + "," + JSON_ESCAPE_NEW_LINE + " ";
+                sb.append(',').append(JSON_ESCAPE_NEW_LINE).append(' ');
             }
-            counter++;
+            first = false;
 
+            appendKey(sb, codegenProperty.baseName);
+            sb.append(JSON_ESCAPE_DOUBLE_QUOTE).append('<').append(getPostmanType(codegenProperty)).append('>').append(JSON_ESCAPE_DOUBLE_QUOTE);
         }
 
-        ret = ret + JSON_ESCAPE_NEW_LINE + "}";
+        sb.append(JSON_ESCAPE_NEW_LINE).append('}');
 
-        return ret;
+        return sb.toString();
     }
 
+    // generate JSON (string) escaping and formatting an example synthesized from the schema (SchemaExampleSynthesizer)
+    String getJsonFromSchemaExample(Object example) {
+        StringBuilder sb = new StringBuilder(256);
+
+        appendValue(sb, example);
+
+        return sb.toString();
+    }
+
+    @SuppressWarnings("unchecked")
     String getJsonFromExample(Example example) {
         String ret = "";
 
@@ -59,8 +76,14 @@ public class ExampleJsonHelper {
 
         if(example.getValue() instanceof ObjectNode) {
             ret = convertToJson((ObjectNode)example.getValue());
-        } else if(example.getValue() instanceof LinkedHashMap) {
-            ret = convertToJson((LinkedHashMap)example.getValue());
+        } else if(example.getValue() instanceof JsonNode) {
+            ret = formatJson(example.getValue().toString());
+        } else if(example.getValue() instanceof Map) {
+            ret = convertToJson((Map<String, Object>)example.getValue());
+        } else if(example.getValue() instanceof List) {
+            StringBuilder sb = new StringBuilder();
+            appendArray(sb, (List<?>)example.getValue());
+            ret = sb.toString();
         }
 
         return ret;
@@ -68,14 +91,10 @@ public class ExampleJsonHelper {
 
     public String formatJson(String json) {
 
-        ObjectMapper objectMapper = new ObjectMapper();
-
         try {
             // convert to JSON object and prettify
-            JsonNode actualObj = objectMapper.readTree(json);
-            json = Json.pretty(actualObj);
-            json = json.replace("\"", JSON_ESCAPE_DOUBLE_QUOTE);
-            json = json.replace("\n", JSON_ESCAPE_NEW_LINE);
+            JsonNode actualObj = OBJECT_MAPPER.readTree(json);
+            json = prettyPrint(actualObj);
 
         } catch (JsonProcessingException e) {
             LOGGER.warn("Error formatting JSON", e);
@@ -85,110 +104,323 @@ public class ExampleJsonHelper {
         return json;
     }
 
+    // pretty print (same layout as Json.pretty) escaping double quotes and new lines while writing
+    String prettyPrint(JsonNode jsonNode) throws JsonProcessingException {
+        StringBuilder sb = new StringBuilder(256);
+
+        try {
+            PRETTY_WRITER.writeValue(new PostmanEscapingWriter(sb), jsonNode);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            // StringBuilder target does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Remove the whitespace (outside string values) of JSON text escaped for the Postman JSON file, leaving the escaping
+     * as it is. Text not starting with an object or an array is returned unchanged.
+     *
+     * @param escapedJson escaped JSON text (ie request or response body)
+     * @return compact escaped JSON text
+     */
+    static String minify(String escapedJson) {
+        if (escapedJson == null || !isEscapedJson(escapedJson)) {
+            return escapedJson;
+        }
+        StringBuilder sb = new StringBuilder(escapedJson.length());
+
+        boolean inString = false;
+        boolean escapeNext = false;
+        int length = escapedJson.length();
+        int i = 0;
+        while (i < length) {
+            // decode the character of the JSON text from its escape sequence
+            int start = i;
+            char c = escapedJson.charAt(i);
+            if (c == '\\' && i + 1 < length) {
+                char next = escapedJson.charAt(i + 1);
+                if (next == 'u' && i + 5 < length) {
+                    c = (char) Integer.parseInt(escapedJson.substring(i + 2, i + 6), 16);
+                    i += 6;
+                } else {
+                    c = unescape(next);
+                    i += 2;
+                }
+            } else {
+                i++;
+            }
+
+            if (inString) {
+                if (escapeNext) {
+                    escapeNext = false;
+                } else if (c == '\\') {
+                    escapeNext = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                continue;
+            } else if (c == '"') {
+                inString = true;
+            }
+            sb.append(escapedJson, start, i);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isEscapedJson(String escapedJson) {
+        for (int i = 0; i < escapedJson.length(); i++) {
+            char c = escapedJson.charAt(i);
+            if (c == '{' || c == '[') {
+                return true;
+            } else if (c == '\\' && i + 1 < escapedJson.length() && "nrt".indexOf(escapedJson.charAt(i + 1)) >= 0) {
+                // escaped whitespace
+                i++;
+            } else if (c != ' ') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static char unescape(char c) {
+        switch (c) {
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            default: return c;
+        }
+    }
+
     // array of attributes from JSON payload (ignore commas within quotes)
     String[] getAttributes(String json) {
         return json.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
     }
 
     String convertToJson(ObjectNode objectNode) {
-        return formatJson(objectNode.toString());
+        try {
+            return prettyPrint(objectNode);
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Error formatting JSON", e);
+            return "";
+        }
     }
 
     // convert to JSON (string) escaping and formatting
-    String convertToJson(LinkedHashMap<String, Object> linkedHashMap) {
-        String ret = "";
+    String convertToJson(Map<String, Object> map) {
+        StringBuilder sb = new StringBuilder(256);
+
+        appendMap(sb, map);
 
-        return traverseMap(linkedHashMap, ret);
+        return sb.toString();
     }
 
-    // traverse recursively
-    private String traverseMap(LinkedHashMap<String, Object> linkedHashMap, String ret) {
+    // traverse recursively, appending to the same buffer
+    private void appendMap(StringBuilder sb, Map<?, ?> map) {
 
-        ret = ret + "{" + JSON_ESCAPE_NEW_LINE + " ";
+        sb.append('{').append(JSON_ESCAPE_NEW_LINE).append(' ');
 
-        int numVars = linkedHashMap.entrySet().size();
-        int counter = 1;
+        boolean first = true;
+        for (Map.Entry<?, ?> mapElement : map.entrySet()) {
+            if(!first) {
+                // add comma unless last attribute
+                sb.append(',').append(JSON_ESCAPE_NEW_LINE).append(' ');
+            }
+            first = false;
 
-        for (Map.Entry<String, Object> mapElement : linkedHashMap.entrySet()) {
-            String key = mapElement.getKey();
-            Object value = mapElement.getValue();
+            appendKey(sb, String.valueOf(mapElement.getKey()));
+            appendValue(sb, mapElement.getValue());
+        }
 
-            if(value instanceof String) {
-                // unescape double quotes already escaped
-                value = ((String)value).replace("\\\"", "\"");
+        sb.append(JSON_ESCAPE_NEW_LINE).append('}');
+    }
 
-                ret = ret + JSON_ESCAPE_DOUBLE_QUOTE + key + JSON_ESCAPE_DOUBLE_QUOTE + ": " +
-                        JSON_ESCAPE_DOUBLE_QUOTE + formatString((String) value) + JSON_ESCAPE_DOUBLE_QUOTE;
-            } else if (value instanceof Boolean) {
-                ret = ret + JSON_ESCAPE_DOUBLE_QUOTE + key + JSON_ESCAPE_DOUBLE_QUOTE + ": " +
-                        value;
-            } else if (value instanceof Integer) {
-                ret = ret + JSON_ESCAPE_DOUBLE_QUOTE + key + JSON_ESCAPE_DOUBLE_QUOTE + ": " +
-                        value;
-            } else if (value instanceof LinkedHashMap) {
-                String in = ret + JSON_ESCAPE_DOUBLE_QUOTE + key + JSON_ESCAPE_DOUBLE_QUOTE + ": ";
-                ret = traverseMap(((LinkedHashMap<String, Object>) value),  in);
-            } else if (value instanceof ArrayList<?>) {
-                ret = ret + JSON_ESCAPE_DOUBLE_QUOTE + key + JSON_ESCAPE_DOUBLE_QUOTE + ": " + getJsonArray((ArrayList<Object>) value);
-            } else {
-                LOGGER.warn("Value type unrecognised: " + value.getClass());
+    private void appendKey(StringBuilder sb, String key) {
+        sb.append(JSON_ESCAPE_DOUBLE_QUOTE);
+        appendEscapedString(sb, key);
+        sb.append(JSON_ESCAPE_DOUBLE_QUOTE).append(": ");
+    }
+
+    private void appendValue(StringBuilder sb, Object value) {
+        if(value == null) {
+            sb.append("null");
+        } else if(value instanceof String) {
+            sb.append(JSON_ESCAPE_DOUBLE_QUOTE);
+            appendEscapedString(sb, (String) value);
+            sb.append(JSON_ESCAPE_DOUBLE_QUOTE);
+        } else if (value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof Number) {
+            appendNumber(sb, (Number) value);
+        } else if (value instanceof Map) {
+            appendMap(sb, (Map<?, ?>) value);
+        } else if (value instanceof List) {
+            appendArray(sb, (List<?>) value);
+        } else if (value instanceof JsonNode) {
+            // JSON text of the node (compact)
+            appendEscapedJson(sb, value.toString());
+        } else {
+            LOGGER.warn("Value type unrecognised: " + value.getClass());
+            sb.append(JSON_ESCAPE_DOUBLE_QUOTE);
+            appendEscapedString(sb, value.toString());
+            sb.append(JSON_ESCAPE_DOUBLE_QUOTE);
+        }
+    }
+
+    private void appendNumber(StringBuilder sb, Number number) {
+        if((number instanceof Double && !Double.isFinite(number.doubleValue())) ||
+                (number instanceof Float && !Float.isFinite(number.floatValue()))) {
+            // NaN and Infinity are not valid JSON numbers
+            sb.append(JSON_ESCAPE_DOUBLE_QUOTE).append(number).append(JSON_ESCAPE_DOUBLE_QUOTE);
+        } else {
+            sb.append(number);
+        }
+    }
+
+    // escape string value: double quotes (already escaped or not), backslashes and control characters
+    // are escaped twice (in the example JSON and in the Postman JSON file)
+    private void appendEscapedString(StringBuilder sb, String str) {
+        int length = str.length();
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '\\':
+                    if(i + 1 < length && str.charAt(i + 1) == '"') {
+                        // unescape double quotes already escaped
+                        sb.append("\\\\\\\"");
+                        i++;
+                    } else {
+                        sb.append("\\\\\\\\");
+                    }
+                    break;
+                case '"':
+                    sb.append("\\\\\\\"");
+                    break;
+                case '\n':
+                    sb.append("\\\\n");
+                    break;
+                case '\r':
+                    sb.append("\\\\r");
+                    break;
+                case '\t':
+                    sb.append("\\\\t");
+                    break;
+                default:
+                    if(c < 0x20) {
+                        sb.append(String.format("\\\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
             }
+        }
+    }
 
-            if(counter < numVars) {
-                // add comma unless last attribute
-                ret = ret + "," + JSON_ESCAPE_NEW_LINE + " ";
+    // escape JSON text (embedded as it is in the example JSON) for the Postman JSON file
+    private void appendEscapedJson(StringBuilder sb, String json) {
+        int length = json.length();
+        for (int i = 0; i < length; i++) {
+            char c = json.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append(JSON_ESCAPE_DOUBLE_QUOTE);
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append(JSON_ESCAPE_NEW_LINE);
+                    break;
+                default:
+                    sb.append(c);
             }
-            counter++;
         }
+    }
 
-        ret = ret + JSON_ESCAPE_NEW_LINE + "}";
+    String getJsonArray(List<?> list) {
+        StringBuilder sb = new StringBuilder();
 
-        return ret;
+        appendArray(sb, list);
+
+        return sb.toString();
     }
 
-    String formatString(String str) {
-        String ret = "";
+    private void appendArray(StringBuilder sb, List<?> list) {
+        sb.append('[');
 
-        if(str.startsWith("{")) {
-            // isJson (escape double quotes in json: "live" to \\\"live\\\")
-            ret = str.replace("\"", "\\\\\\\"");
-        } else {
-            ret = str;
+        boolean first = true;
+        for(Object element: list) {
+            if(!first) {
+                sb.append(", ");
+            }
+            first = false;
+
+            if(element instanceof String && ((String) element).startsWith("{")) {
+                // isJson (escape all double quotes)
+                appendEscapedJson(sb, (String) element);
+            } else {
+                appendValue(sb, element);
+            }
         }
 
-        return ret;
+        sb.append(']');
     }
 
-    String getJsonArray(ArrayList<Object> list) {
-        String ret = "";
+    /**
+     * Writer escaping the JSON text for the Postman JSON file: backslashes as \\\\, double quotes as \\" and new lines as \\n
+     */
+    static class PostmanEscapingWriter extends Writer {
 
-        for(Object element: list) {
-            if(element instanceof String) {
-                ret = ret + getStringArrayElement((String) element) + ", ";
-            } else if(element instanceof LinkedHashMap) {
-                ret = traverseMap((LinkedHashMap<String, Object>) element, ret) + ", ";
-            }
+        private final StringBuilder sb;
+
+        PostmanEscapingWriter(StringBuilder sb) {
+            this.sb = sb;
         }
 
-        if(ret.endsWith(", ")) {
-            ret = ret.substring(0, ret.length() - 2);
+        @Override
+        public void write(int c) {
+            appendEscaped((char) c);
         }
 
-        return "[" + ret + "]";
-    }
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                appendEscaped(cbuf[i]);
+            }
+        }
 
-    String getStringArrayElement(String element) {
-        String ret = "";
+        @Override
+        public void write(String str, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                appendEscaped(str.charAt(i));
+            }
+        }
 
-        if(element.startsWith("{")) {
-            // isJson (escape all double quotes)
-            ret = ret + element.replace("\"", JSON_ESCAPE_DOUBLE_QUOTE);
-        } else {
-            // string element (add escaped double quotes)
-            ret = ret + JSON_ESCAPE_DOUBLE_QUOTE + element + JSON_ESCAPE_DOUBLE_QUOTE;
+        private void appendEscaped(char c) {
+            // escape sequences of the string values (i.e \" for a double quote) keep their backslash
+            if (c == '\\') {
+                sb.append("\\\\");
+            } else if (c == '"') {
+                sb.append(JSON_ESCAPE_DOUBLE_QUOTE);
+            } else if (c == '\n') {
+                sb.append(JSON_ESCAPE_NEW_LINE);
+            } else {
+                sb.append(c);
+            }
         }
 
-        return ret;
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
     }
 
     String getPostmanType(CodegenProperty codegenProperty) {
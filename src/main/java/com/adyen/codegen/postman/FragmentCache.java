@@ -0,0 +1,213 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk cache of the rendered items (JSON fragments) by operation content hash.
+ * <p>
+ * Each fragment is stored as {@code <hash>.json}, {@code index.json} lists the fragments with the Postman variables
+ * used by their requests and their numbers of requests and responses (metrics of the reused items).
+ * Fragments not used by the last generation are removed when the index is saved.
+ */
+public class FragmentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FragmentCache.class);
+
+    static final String INDEX_FILE = "index.json";
+    // bump when the item rendering changes (invalidates all fragments)
+    static final int VERSION = 2;
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // fragments available on disk (without their JSON) by hash
+    private final Map<String, Fragment> index = new ConcurrentHashMap<>();
+    // hashes used by the current generation
+    private final Set<String> used = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong rebuilt = new AtomicLong();
+    private long removed = 0;
+
+    /**
+     * @param directory Cache directory (created when saving)
+     */
+    public FragmentCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Load the index of a previous generation (cache is empty when missing, of another version or unreadable)
+     */
+    public FragmentCache load() {
+        Path indexFile = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) {
+            return this;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(indexFile.toFile());
+            if (root.path("version").asInt() != VERSION) {
+                LOGGER.info("Fragment cache {} has another version: rebuilding all items", directory);
+                return this;
+            }
+            root.path("fragments").fields().forEachRemaining(entry -> {
+                JsonNode fragment = entry.getValue();
+                Set<String> variables = new TreeSet<>();
+                fragment.path("variables").forEach(variable -> variables.add(variable.asText()));
+                index.put(entry.getKey(), new Fragment(null, variables,
+                        fragment.path("requests").asInt(), fragment.path("responses").asInt()));
+            });
+        } catch (IOException e) {
+            LOGGER.warn("Could not read fragment cache " + indexFile + ": rebuilding all items", e);
+            index.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Get a fragment of a previous generation
+     * @param hash Operation content hash
+     * @return Fragment or null when not cached
+     */
+    public Fragment get(String hash) {
+        Fragment entry = index.get(hash);
+        if (entry == null) {
+            return null;
+        }
+        Path file = getFragmentFile(hash);
+        try {
+            String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            used.add(hash);
+            reused.incrementAndGet();
+            return new Fragment(json, entry.getVariables(), entry.getRequests(), entry.getResponses());
+        } catch (IOException e) {
+            LOGGER.warn("Could not read fragment {}: rebuilding item", file);
+            index.remove(hash);
+            return null;
+        }
+    }
+
+    /**
+     * Store the fragment of a rebuilt item
+     * @param hash Operation content hash
+     * @param json Rendered item
+     * @param variables Postman variables used by the item
+     * @param requests Number of requests of the item
+     * @param responses Number of responses of the requests
+     */
+    public void put(String hash, String json, Set<String> variables, int requests, int responses) {
+        try {
+            Files.createDirectories(directory);
+            Files.write(getFragmentFile(hash), json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write fragment " + getFragmentFile(hash), e);
+        }
+        index.put(hash, new Fragment(null, new TreeSet<>(variables), requests, responses));
+        used.add(hash);
+        rebuilt.incrementAndGet();
+    }
+
+    /**
+     * Save the index of the current generation and remove the fragments no longer used
+     */
+    public void save() throws IOException {
+        Files.createDirectories(directory);
+
+        removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String hash = name.substring(0, name.length() - ".json".length());
+                if (!name.equals(INDEX_FILE) && !used.contains(hash)) {
+                    Files.delete(file);
+                    removed++;
+                }
+            }
+        }
+
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("version", VERSION);
+        ObjectNode fragments = root.putObject("fragments");
+        new TreeMap<>(index).forEach((hash, fragment) -> {
+            if (used.contains(hash)) {
+                ObjectNode entry = fragments.putObject(hash);
+                ArrayNode names = entry.putArray("variables");
+                fragment.getVariables().forEach(names::add);
+                entry.put("requests", fragment.getRequests());
+                entry.put("responses", fragment.getResponses());
+            }
+        });
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(directory.resolve(INDEX_FILE).toFile(), root);
+    }
+
+    public long getReused() {
+        return reused.get();
+    }
+
+    public long getRebuilt() {
+        return rebuilt.get();
+    }
+
+    // fragments removed by the last save
+    public long getRemoved() {
+        return removed;
+    }
+
+    private Path getFragmentFile(String hash) {
+        return directory.resolve(hash + ".json");
+    }
+
+    /**
+     * Rendered item, the Postman variables used by its requests and its numbers of requests and responses
+     */
+    public static class Fragment {
+
+        private final String json;
+        private final Set<String> variables;
+        private final int requests;
+        private final int responses;
+
+        Fragment(String json, Set<String> variables, int requests, int responses) {
+            this.json = json;
+            this.variables = Collections.unmodifiableSet(variables);
+            this.requests = requests;
+            this.responses = responses;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        public Set<String> getVariables() {
+            return variables;
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public int getResponses() {
+            return responses;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.adyen.codegen.postman;
+
+import com.adyen.codegen.postman.model.PostmanVariable;
+import org.openapitools.codegen.CodegenOperation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * State of one generation run: Postman variables, collected operations, caches and metrics.
+ * <p>
+ * PostmanV2Generator creates a new context for each run (processOpts), so a generator instance can be reused and
+ * several generations can run concurrently in the same JVM (one generator instance each).
+ * Collections are thread-safe: the operations of a run can be processed in parallel (parallelProcessing).
+ */
+public class GenerationContext {
+
+    // synchronized HashSet: the variables are written in the collection in the same order as before
+    private final Set<PostmanVariable> variables = Collections.synchronizedSet(new HashSet<>());
+    // operations grouped by tag (sorted by tag name)
+    private final Map<String, List<CodegenOperation>> codegenOperationsByTag = new ConcurrentSkipListMap<>();
+    private final List<CodegenOperation> codegenOperationsList = Collections.synchronizedList(new ArrayList<>());
+
+    // stateless, shared by all the operations of the run
+    private final ExampleJsonHelper exampleJsonHelper = new ExampleJsonHelper();
+    private final ExampleCache exampleCache;
+    private final GenerationMetrics metrics = new GenerationMetrics();
+
+    // created on first use
+    private SchemaExampleSynthesizer schemaExampleSynthesizer = null;
+    private OperationHasher operationHasher = null;
+    private VariableSubstitution variableSubstitution = null;
+
+    // rendered items of the previous generation (when incremental)
+    private volatile FragmentCache fragmentCache = null;
+    // shards written by the run (when shardedOutput)
+    private volatile List<PostmanShardWriter.Shard> shards = null;
+    // models of components/schemas being processed (before the operations)
+    private volatile boolean modelStage = false;
+
+    public GenerationContext() {
+        this.exampleCache = new ExampleCache(exampleJsonHelper);
+    }
+
+    /**
+     * @param exampleCache Component examples already serialized by previous generations of the same spec
+     *                     (hits and misses counted for this generation only)
+     */
+    public GenerationContext(ExampleCache exampleCache) {
+        this.exampleCache = exampleCache.forGeneration();
+    }
+
+    public Set<PostmanVariable> getVariables() {
+        return variables;
+    }
+
+    public Map<String, List<CodegenOperation>> getCodegenOperationsByTag() {
+        return codegenOperationsByTag;
+    }
+
+    public List<CodegenOperation> getCodegenOperationsList() {
+        return codegenOperationsList;
+    }
+
+    /**
+     * Add an operation to the folder of its tag
+     * @param tag Tag name
+     * @param codegenOperation Operation
+     */
+    public void addOperation(String tag, CodegenOperation codegenOperation) {
+        codegenOperationsByTag.computeIfAbsent(tag, key -> Collections.synchronizedList(new ArrayList<>())).add(codegenOperation);
+    }
+
+    public ExampleJsonHelper getExampleJsonHelper() {
+        return exampleJsonHelper;
+    }
+
+    public ExampleCache getExampleCache() {
+        return exampleCache;
+    }
+
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @param factory Creates the synthesizer on the first call
+     * @return Synthesizer of the run
+     */
+    public synchronized SchemaExampleSynthesizer getSchemaExampleSynthesizer(Supplier<SchemaExampleSynthesizer> factory) {
+        if (schemaExampleSynthesizer == null) {
+            schemaExampleSynthesizer = factory.get();
+        }
+        return schemaExampleSynthesizer;
+    }
+
+    /**
+     * @return Synthesizer of the run, null if no example was synthesized
+     */
+    public synchronized SchemaExampleSynthesizer getSchemaExampleSynthesizer() {
+        return schemaExampleSynthesizer;
+    }
+
+    /**
+     * @param factory Creates the hasher on the first call
+     * @return Hasher of the run
+     */
+    public synchronized OperationHasher getOperationHasher(Supplier<OperationHasher> factory) {
+        if (operationHasher == null) {
+            operationHasher = factory.get();
+        }
+        return operationHasher;
+    }
+
+    /**
+     * @param factory Compiles the substitution on the first call
+     * @return Variable substitution of the run
+     */
+    public synchronized VariableSubstitution getVariableSubstitution(Supplier<VariableSubstitution> factory) {
+        if (variableSubstitution == null) {
+            variableSubstitution = factory.get();
+        }
+        return variableSubstitution;
+    }
+
+    public FragmentCache getFragmentCache() {
+        return fragmentCache;
+    }
+
+    public void setFragmentCache(FragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+
+    public List<PostmanShardWriter.Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<PostmanShardWriter.Shard> shards) {
+        this.shards = shards;
+    }
+
+    public boolean isModelStage() {
+        return modelStage;
+    }
+
+    public void setModelStage(boolean modelStage) {
+        this.modelStage = modelStage;
+    }
+}
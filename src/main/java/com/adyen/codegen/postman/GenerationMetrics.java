@@ -0,0 +1,159 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wall time and allocated bytes per phase of a generation run, plus counters.
+ *
+ * Phases are consecutive: starting a phase ends the current one. A phase started again adds to its previous measurement.
+ * Allocated bytes are measured on the generating thread (worker threads of parallelProcessing are not included).
+ */
+public class GenerationMetrics {
+
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final Map<String, Object> counters = new LinkedHashMap<>();
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder requestItems = new LongAdder();
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder exampleSerializationNanos = new LongAdder();
+
+    private Phase currentPhase = null;
+    private long phaseStartNanos;
+    private long phaseStartAllocatedBytes;
+
+    /**
+     * Start a phase, ending the current one
+     * @param name Phase name
+     */
+    public synchronized void startPhase(String name) {
+        if (currentPhase != null && currentPhase.name.equals(name)) {
+            return;
+        }
+        endPhase();
+        currentPhase = phases.computeIfAbsent(name, Phase::new);
+        phaseStartNanos = System.nanoTime();
+        phaseStartAllocatedBytes = getAllocatedBytes();
+    }
+
+    /**
+     * End the current phase (if any)
+     */
+    public synchronized void endPhase() {
+        if (currentPhase == null) {
+            return;
+        }
+        currentPhase.wallTimeNanos += System.nanoTime() - phaseStartNanos;
+        long allocatedBytes = getAllocatedBytes();
+        if (allocatedBytes >= 0 && phaseStartAllocatedBytes >= 0) {
+            currentPhase.allocatedBytes += allocatedBytes - phaseStartAllocatedBytes;
+        }
+        currentPhase = null;
+    }
+
+    public void addOperation(int requestItems, int responses) {
+        this.operations.increment();
+        this.requestItems.add(requestItems);
+        this.responses.add(responses);
+    }
+
+    public void addExampleSerialization(long nanos) {
+        exampleSerializationNanos.add(nanos);
+    }
+
+    public synchronized void setCounter(String name, long value) {
+        counters.put(name, value);
+    }
+
+    public long getOperations() {
+        return operations.sum();
+    }
+
+    public long getRequestItems() {
+        return requestItems.sum();
+    }
+
+    public long getResponses() {
+        return responses.sum();
+    }
+
+    /**
+     * Metrics as nested maps (phases, totals, counters)
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        long totalWallTimeNanos = 0;
+        long totalAllocatedBytes = 0;
+        Map<String, Object> phasesMap = new LinkedHashMap<>();
+        for (Phase phase : phases.values()) {
+            Map<String, Object> phaseMap = new LinkedHashMap<>();
+            phaseMap.put("wallTimeMs", toMillis(phase.wallTimeNanos));
+            phaseMap.put("allocatedBytes", phase.allocatedBytes);
+            phasesMap.put(phase.name, phaseMap);
+            totalWallTimeNanos += phase.wallTimeNanos;
+            totalAllocatedBytes += phase.allocatedBytes;
+        }
+        map.put("phases", phasesMap);
+        map.put("totalWallTimeMs", toMillis(totalWallTimeNanos));
+        map.put("totalAllocatedBytes", totalAllocatedBytes);
+        // part of the requests phase (summed over threads with parallelProcessing)
+        map.put("exampleSerializationMs", toMillis(exampleSerializationNanos.sum()));
+
+        Map<String, Object> countersMap = new LinkedHashMap<>();
+        countersMap.put("operations", operations.sum());
+        countersMap.put("requestItems", requestItems.sum());
+        countersMap.put("responses", responses.sum());
+        countersMap.putAll(counters);
+        map.put("counters", countersMap);
+
+        return map;
+    }
+
+    /**
+     * Write the metrics as JSON file
+     * @param path Metrics file
+     */
+    public void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(path.toFile(), toMap());
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    // bytes allocated by the current thread (-1 when not supported by the JVM)
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static class Phase {
+        final String name;
+        long wallTimeNanos;
+        long allocatedBytes;
+
+        Phase(String name) {
+            this.name = name;
+        }
+    }
+}
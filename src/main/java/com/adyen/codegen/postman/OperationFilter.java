@@ -0,0 +1,154 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Select the operations of the collection by tag, path (glob), operationId and HTTP method.
+ * <p>
+ * An operation is kept when it matches every include list that is set and none of the exclude lists.
+ * Operations without tags have the "default" tag (as their folder). Path globs: {@code *} matches within a segment,
+ * {@code **} across segments (ie {@code /payments/**}).
+ * <p>
+ * The filter removes the operations from the OpenAPI model before the generator processes it, so the
+ * operations left out are never resolved, serialized or rendered.
+ */
+public class OperationFilter {
+
+    // list separator of the option values (tag names can contain spaces, dashes and commas)
+    public static final String SEPARATOR = "|";
+
+    static final String DEFAULT_TAG = "default";
+
+    private final List<String> includeTags;
+    private final List<String> excludeTags;
+    private final List<Pattern> includePaths;
+    private final List<Pattern> excludePaths;
+    private final List<String> includeOperationIds;
+    private final List<String> excludeOperationIds;
+    private final List<String> includeMethods;
+    private final List<String> excludeMethods;
+
+    /**
+     * Each value is a list separated by {@link #SEPARATOR}, null when not set
+     */
+    public OperationFilter(String includeTags, String excludeTags, String includePaths, String excludePaths,
+                           String includeOperationIds, String excludeOperationIds, String includeMethods, String excludeMethods) {
+        this.includeTags = split(includeTags);
+        this.excludeTags = split(excludeTags);
+        this.includePaths = toPatterns(split(includePaths));
+        this.excludePaths = toPatterns(split(excludePaths));
+        this.includeOperationIds = split(includeOperationIds);
+        this.excludeOperationIds = split(excludeOperationIds);
+        this.includeMethods = toUpperCase(split(includeMethods));
+        this.excludeMethods = toUpperCase(split(excludeMethods));
+    }
+
+    /**
+     * @return false when no list is set (all operations are kept)
+     */
+    public boolean isEnabled() {
+        return includeTags != null || excludeTags != null || includePaths != null || excludePaths != null
+                || includeOperationIds != null || excludeOperationIds != null || includeMethods != null || excludeMethods != null;
+    }
+
+    /**
+     * @param path Path of the operation (ie /payments/{paymentPspReference}/refunds)
+     * @param httpMethod HTTP method
+     * @param operation Operation
+     * @return whether the operation is kept
+     */
+    public boolean test(String path, String httpMethod, Operation operation) {
+        List<String> tags = operation.getTags() == null || operation.getTags().isEmpty()
+                ? List.of(DEFAULT_TAG) : operation.getTags();
+        String method = httpMethod.toUpperCase(Locale.ROOT);
+        String operationId = operation.getOperationId();
+
+        return (includeTags == null || tags.stream().anyMatch(includeTags::contains))
+                && (excludeTags == null || tags.stream().noneMatch(excludeTags::contains))
+                && (includePaths == null || matches(includePaths, path))
+                && (excludePaths == null || !matches(excludePaths, path))
+                && (includeOperationIds == null || includeOperationIds.contains(operationId))
+                && (excludeOperationIds == null || !excludeOperationIds.contains(operationId))
+                && (includeMethods == null || includeMethods.contains(method))
+                && (excludeMethods == null || !excludeMethods.contains(method));
+    }
+
+    /**
+     * Remove the operations left out from the spec, and the paths without operations
+     *
+     * @param openAPI Spec (modified)
+     * @return number of operations removed
+     */
+    public int apply(OpenAPI openAPI) {
+        if (openAPI.getPaths() == null) {
+            return 0;
+        }
+        int removed = 0;
+        Iterator<Map.Entry<String, PathItem>> paths = openAPI.getPaths().entrySet().iterator();
+        while (paths.hasNext()) {
+            Map.Entry<String, PathItem> entry = paths.next();
+            PathItem pathItem = entry.getValue();
+            for (Map.Entry<PathItem.HttpMethod, Operation> operation : pathItem.readOperationsMap().entrySet()) {
+                if (!test(entry.getKey(), operation.getKey().name(), operation.getValue())) {
+                    pathItem.operation(operation.getKey(), null);
+                    removed++;
+                }
+            }
+            if (pathItem.readOperations().isEmpty()) {
+                paths.remove();
+            }
+        }
+        return removed;
+    }
+
+    // glob to regular expression: ** any characters, * and ? within a segment
+    static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static boolean matches(List<Pattern> patterns, String path) {
+        return patterns.stream().anyMatch(pattern -> pattern.matcher(path).matches());
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return Arrays.stream(value.split(Pattern.quote(SEPARATOR)))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Pattern> toPatterns(List<String> globs) {
+        return globs == null ? null : globs.stream().map(OperationFilter::toPattern).collect(Collectors.toList());
+    }
+
+    private static List<String> toUpperCase(List<String> methods) {
+        return methods == null ? null : methods.stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toList());
+    }
+}
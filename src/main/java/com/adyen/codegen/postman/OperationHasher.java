@@ -0,0 +1,101 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stable content hash (SHA-256) of an operation: options fingerprint, path, method, operation definition
+ * and all components it references (directly or indirectly) with $ref or discriminator mappings,
+ * ie examples, schemas, parameters.
+ */
+public class OperationHasher {
+
+    private final OpenAPI openAPI;
+    private final String optionsFingerprint;
+    private final ObjectMapper objectMapper = Json.mapper();
+
+    // serialized components and their direct references, by $ref
+    private final Map<String, Component> components = new ConcurrentHashMap<>();
+
+    /**
+     * @param openAPI Spec defining the components
+     * @param optionsFingerprint Generator options affecting the items (included in every hash)
+     */
+    public OperationHasher(OpenAPI openAPI, String optionsFingerprint) {
+        this.openAPI = openAPI;
+        this.optionsFingerprint = optionsFingerprint;
+    }
+
+    public String hash(String path, String httpMethod, Operation operation) {
+        MessageDigest digest = newDigest();
+
+        update(digest, optionsFingerprint);
+        update(digest, httpMethod.toUpperCase());
+        update(digest, path);
+
+        JsonNode operationNode = objectMapper.valueToTree(operation);
+        update(digest, operationNode.toString());
+
+        // referenced components, sorted by $ref
+        for (String ref : getReferencedComponents(operationNode)) {
+            update(digest, ref);
+            update(digest, getComponent(ref).json);
+        }
+
+        return toHex(digest.digest());
+    }
+
+    // transitive closure of the $ref found in the node
+    private Set<String> getReferencedComponents(JsonNode node) {
+        return ComponentRefs.getClosure(ComponentRefs.findRefs(node), ref -> getComponent(ref).refs);
+    }
+
+    private Component getComponent(String ref) {
+        return components.computeIfAbsent(ref, key -> {
+            JsonNode node = objectMapper.valueToTree(ComponentRefs.resolve(openAPI.getComponents(), key));
+            return new Component(node.toString(), ComponentRefs.findRefs(node));
+        });
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update((value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+        // separator
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static class Component {
+        final String json;
+        final Set<String> refs;
+
+        Component(String json, Set<String> refs) {
+            this.json = json;
+            this.refs = refs;
+        }
+    }
+}
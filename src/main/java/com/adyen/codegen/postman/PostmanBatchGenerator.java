@@ -0,0 +1,311 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generate the collections of many specs in one JVM (instead of one process per spec), running the specs
+ * concurrently on a bounded pool.
+ * <p>
+ * The specs are either all the OpenAPI files of a directory (generated with the default options) or listed in a JSON manifest:
+ * <pre>
+ * {
+ *   "additionalProperties": { "folderStrategy": "Tags" },
+ *   "specs": [
+ *     { "inputSpec": "CheckoutService-v71.yaml", "outputDir": "checkout",
+ *       "additionalProperties": { "postmanVariables": "YOUR_MERCHANT_ACCOUNT" } }
+ *   ]
+ * }
+ * </pre>
+ * Top-level additionalProperties apply to all specs, inputSpec is relative to the manifest and outputDir (default: name of the spec)
+ * to the output directory.
+ */
+public class PostmanBatchGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostmanBatchGenerator.class);
+
+    private static final String GENERATOR_NAME = "postman-v2";
+
+    private final int threads;
+
+    /**
+     * @param threads Maximum number of specs generated concurrently
+     */
+    public PostmanBatchGenerator(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Generate all specs (a failing spec does not stop the others)
+     *
+     * @param specs Specs to generate
+     * @return Result of each spec, in the same order
+     */
+    public List<Result> generate(List<Spec> specs) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, specs.size())));
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (Spec spec : specs) {
+                futures.add(executor.submit(() -> generate(spec)));
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(getResult(future));
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // generate one spec (own configurator and generator: nothing is shared with the other specs)
+    Result generate(Spec spec) {
+        long start = System.nanoTime();
+        try {
+            // global properties are thread local: do not inherit the ones of the previous spec
+            GlobalSettings.reset();
+
+            CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName(GENERATOR_NAME)
+                    .setInputSpec(spec.getInputSpec().replace("\\", "/"))
+                    .setOutputDir(spec.getOutputDir().toAbsolutePath().toString().replace("\\", "/"));
+            spec.getAdditionalProperties().forEach(configurator::addAdditionalProperty);
+
+            List<File> files = new DefaultGenerator().opts(CodegenUtils.toClientOptInput(configurator)).generate();
+            Result result = new Result(spec, files.size(), elapsedMillis(start), null);
+            LOGGER.info("Generated {} in {} ms", spec.getInputSpec(), result.getDurationMillis());
+            return result;
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not generate " + spec.getInputSpec(), e);
+            return new Result(spec, 0, elapsedMillis(start), e);
+        }
+    }
+
+    private static Result getResult(Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch generation interrupted", e);
+        } catch (ExecutionException e) {
+            // generate(Spec) returns the failures as results
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Read the specs of a JSON manifest
+     *
+     * @param manifest Manifest file
+     * @param outputDir Output directory of the batch
+     */
+    public static List<Spec> readManifest(Path manifest, Path outputDir) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(manifest.toFile());
+        Path baseDir = manifest.toAbsolutePath().getParent();
+        Map<String, Object> defaults = toMap(root.path("additionalProperties"));
+
+        List<Spec> specs = new ArrayList<>();
+        for (JsonNode node : root.path("specs")) {
+            String inputSpec = node.path("inputSpec").asText(null);
+            if (inputSpec == null) {
+                throw new IllegalArgumentException("Missing inputSpec in " + manifest);
+            }
+            Map<String, Object> additionalProperties = new LinkedHashMap<>(defaults);
+            additionalProperties.putAll(toMap(node.path("additionalProperties")));
+
+            String name = node.path("outputDir").asText(getName(Paths.get(inputSpec)));
+            specs.add(new Spec(baseDir.resolve(inputSpec).toString(), outputDir.resolve(name), additionalProperties));
+        }
+        return specs;
+    }
+
+    /**
+     * Specs (yaml, yml and json files with a top-level openapi or swagger field) of a directory, each generated
+     * in its own output folder: other files (i.e manifest, collections) are skipped
+     *
+     * @param directory Directory of the specs
+     * @param outputDir Output directory of the batch
+     */
+    public static List<Spec> scanDirectory(Path directory, Path outputDir) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(PostmanBatchGenerator::isSpec)
+                    .sorted()
+                    .map(file -> new Spec(file.toString(), outputDir.resolve(getName(file)), Collections.emptyMap()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isSpec(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        JsonFactory factory;
+        if (name.endsWith(".yaml") || name.endsWith(".yml")) {
+            factory = new YAMLFactory();
+        } else if (name.endsWith(".json")) {
+            factory = new JsonFactory();
+        } else {
+            return false;
+        }
+        // reads the top-level fields only, skipping their values
+        try (JsonParser parser = factory.createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                if ("openapi".equals(field) || "swagger".equals(field)) {
+                    return true;
+                }
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Skipping {}: {}", file, e.getMessage());
+        }
+        return false;
+    }
+
+    // file name without extension
+    private static String getName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static Map<String, Object> toMap(JsonNode node) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        node.fields().forEachRemaining(entry -> map.put(entry.getKey(), entry.getValue().asText()));
+        return map;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Usage: PostmanBatchGenerator &lt;specs directory | manifest.json&gt; &lt;output directory&gt; [threads]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PostmanBatchGenerator <specs directory | manifest.json> <output directory> [threads]");
+            System.exit(2);
+        }
+        Path input = Paths.get(args[0]);
+        Path outputDir = Paths.get(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        List<Spec> specs = Files.isDirectory(input) ? scanDirectory(input, outputDir) : readManifest(input, outputDir);
+
+        long start = System.nanoTime();
+        List<Result> results = new PostmanBatchGenerator(threads).generate(specs);
+
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        LOGGER.info("Batch: {} specs generated, {} failed in {} ms", results.size() - failed, failed, elapsedMillis(start));
+        results.stream()
+                .filter(result -> !result.isSuccess())
+                .forEach(result -> LOGGER.error("Failed: {} ({})", result.getSpec().getInputSpec(), result.getError().getMessage()));
+
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Spec to generate with its options
+     */
+    public static class Spec {
+
+        private final String inputSpec;
+        private final Path outputDir;
+        private final Map<String, Object> additionalProperties;
+
+        public Spec(String inputSpec, Path outputDir, Map<String, Object> additionalProperties) {
+            this.inputSpec = inputSpec;
+            this.outputDir = outputDir;
+            this.additionalProperties = additionalProperties;
+        }
+
+        public String getInputSpec() {
+            return inputSpec;
+        }
+
+        public Path getOutputDir() {
+            return outputDir;
+        }
+
+        public Map<String, Object> getAdditionalProperties() {
+            return additionalProperties;
+        }
+    }
+
+    /**
+     * Outcome of the generation of a spec
+     */
+    public static class Result {
+
+        private final Spec spec;
+        private final int files;
+        private final long durationMillis;
+        private final Exception error;
+
+        Result(Spec spec, int files, long durationMillis, Exception error) {
+            this.spec = spec;
+            this.files = files;
+            this.durationMillis = durationMillis;
+            this.error = error;
+        }
+
+        public Spec getSpec() {
+            return spec;
+        }
+
+        // number of generated files
+        public int getFiles() {
+            return files;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        // null when successful
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
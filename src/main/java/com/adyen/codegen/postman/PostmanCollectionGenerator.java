@@ -0,0 +1,164 @@
+package com.adyen.codegen.postman;
+
+import com.adyen.codegen.postman.model.PostmanItem;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.GlobalSettings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generate a collection in memory: from a parsed spec (or its content) to a stream or writer supplied by the caller,
+ * without files, so a long-running service can generate the collections on request.
+ * <p>
+ * The options are the additional properties of the CLI. The collection is always written with the Streaming output engine
+ * (same content as the Mustache templates); {@code shardedOutput} and {@code incremental} write files and are not supported.
+ * <p>
+ * The generation modifies the OpenAPI model (include/exclude options, pruning, inline schemas): pass a spec parsed
+ * for this generation only. Each generation has its own generator, so an instance can be used by many threads.
+ */
+public class PostmanCollectionGenerator {
+
+    private final Map<String, Object> additionalProperties;
+
+    public PostmanCollectionGenerator() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * @param additionalProperties Options of the generation (i.e folderStrategy)
+     * @throws IllegalArgumentException shardedOutput or incremental is set
+     */
+    public PostmanCollectionGenerator(Map<String, Object> additionalProperties) {
+        for (String option : new String[]{PostmanV2Generator.SHARDED_OUTPUT, PostmanV2Generator.INCREMENTAL}) {
+            if (Boolean.parseBoolean(String.valueOf(additionalProperties.get(option)))) {
+                throw new IllegalArgumentException(option + " writes files: not supported by " + getClass().getSimpleName());
+            }
+        }
+        this.additionalProperties = new LinkedHashMap<>(additionalProperties);
+    }
+
+    /**
+     * @param spec Content of the spec (JSON or YAML, UTF-8)
+     * @param outputStream Target of the collection (flushed, not closed)
+     * @return metrics of the generation
+     * @throws IllegalArgumentException the content is not a valid spec
+     */
+    public GenerationMetrics generate(byte[] spec, OutputStream outputStream) {
+        return generate(CodegenUtils.parse(new String(spec, StandardCharsets.UTF_8)), outputStream);
+    }
+
+    /**
+     * @param openAPI Parsed spec (modified by the generation)
+     * @param outputStream Target of the collection (flushed, not closed), gzip-compressed when gzipOutput is set
+     * @return metrics of the generation
+     */
+    public GenerationMetrics generate(OpenAPI openAPI, OutputStream outputStream) {
+        return generate(openAPI, new EmbeddedGenerator(outputStream, null, null));
+    }
+
+    /**
+     * @param openAPI Parsed spec (modified by the generation)
+     * @param exampleCache Component examples of the spec, kept between the generations of the same spec content
+     * @param outputStream Target of the collection (flushed, not closed), gzip-compressed when gzipOutput is set
+     * @return metrics of the generation
+     */
+    public GenerationMetrics generate(OpenAPI openAPI, ExampleCache exampleCache, OutputStream outputStream) {
+        return generate(openAPI, new EmbeddedGenerator(outputStream, null, exampleCache));
+    }
+
+    // notifies the consumer with each item as soon as it is built (on the generating thread)
+    GenerationMetrics generate(OpenAPI openAPI, OutputStream outputStream, Consumer<PostmanItem> itemConsumer) {
+        EmbeddedGenerator generator = new EmbeddedGenerator(outputStream, null, null);
+        generator.itemConsumer = itemConsumer;
+        return generate(openAPI, generator);
+    }
+
+    /**
+     * @param openAPI Parsed spec (modified by the generation)
+     * @param writer Target of the collection (flushed, not closed)
+     * @return metrics of the generation
+     * @throws IllegalArgumentException gzipOutput is set
+     */
+    public GenerationMetrics generate(OpenAPI openAPI, Writer writer) {
+        if (Boolean.parseBoolean(String.valueOf(additionalProperties.get(PostmanV2Generator.GZIP_OUTPUT)))) {
+            throw new IllegalArgumentException(PostmanV2Generator.GZIP_OUTPUT + " requires an OutputStream");
+        }
+        return generate(openAPI, new EmbeddedGenerator(null, writer, null));
+    }
+
+    private GenerationMetrics generate(OpenAPI openAPI, EmbeddedGenerator generator) {
+        // global properties are thread local: do not inherit the ones of a previous generation
+        GlobalSettings.reset();
+
+        generator.additionalProperties().putAll(additionalProperties);
+        generator.additionalProperties().put(PostmanV2Generator.OUTPUT_ENGINE, "Streaming");
+
+        DefaultGenerator defaultGenerator = new DefaultGenerator();
+        // no .openapi-generator metadata and ignore file
+        defaultGenerator.setGenerateMetadata(false);
+        defaultGenerator.setGeneratorPropertyDefault(CodegenConstants.SUPPORTING_FILES, "false");
+        // set explicitly: the switches not set are disabled once one is set
+        defaultGenerator.setGeneratorPropertyDefault(CodegenConstants.APIS, "true");
+        defaultGenerator.setGeneratorPropertyDefault(CodegenConstants.MODELS, "true");
+        defaultGenerator.opts(new ClientOptInput().openAPI(openAPI).config(generator)).generate();
+
+        return generator.collectMetrics();
+    }
+
+    // writes the collection to the target instead of postman.json
+    static class EmbeddedGenerator extends PostmanV2Generator {
+
+        private final OutputStream outputStream;
+        private final Writer writer;
+        // component examples shared with other generations (null: new cache)
+        private final ExampleCache exampleCache;
+
+        EmbeddedGenerator(OutputStream outputStream, Writer writer, ExampleCache exampleCache) {
+            this.outputStream = outputStream;
+            this.writer = writer;
+            this.exampleCache = exampleCache;
+        }
+
+        @Override
+        GenerationContext newGenerationContext() {
+            return exampleCache != null ? new GenerationContext(exampleCache) : super.newGenerationContext();
+        }
+
+        @Override
+        void writeCollection(Map<String, Object> bundle) {
+            try {
+                PostmanCollectionWriter collectionWriter = new PostmanCollectionWriter(bundle);
+                if (writer != null) {
+                    collectionWriter.write(writer);
+                } else if (gzipOutput) {
+                    // finish the compressed content without closing the stream of the caller
+                    GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                    collectionWriter.write(gzipOutputStream);
+                    gzipOutputStream.finish();
+                    gzipOutputStream.flush();
+                } else {
+                    collectionWriter.write(outputStream);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write Postman collection", e);
+            }
+        }
+
+        @Override
+        void writeMetrics() {
+            // counters returned by generate, no postman-metrics.json
+            collectMetrics();
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package com.adyen.codegen.postman;
+
+import com.adyen.codegen.postman.model.PostmanRequestItem;
+import com.adyen.codegen.postman.model.PostmanResponse;
+import com.adyen.codegen.postman.model.PostmanVariable;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.samskivert.mustache.Escapers;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.CodegenSecurity;
+import org.openapitools.codegen.CodegenServer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Write the Postman collection (v2.1) with a streaming JsonGenerator.
+ * <p>
+ * Alternative to the Mustache templates (postman.mustache, item.mustache, request.mustache): it walks the same
+ * supporting file data and produces the same JSON document, without rendering the collection in memory first.
+ * <p>
+ * Values rendered with triple braces in the templates are already escaped for JSON (ie request bodies, notes)
+ * and are written as they are, values rendered with double braces are HTML-escaped like Mustache does.
+ */
+public class PostmanCollectionWriter {
+
+    static final String SCHEMA_URL = "https://schema.getpostman.com/json/collection/v2.1.0/collection.json";
+
+    // item already rendered (see renderItem), written instead of the operation data
+    static final String ITEM_FRAGMENT = "postmanItemFragment";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    // indentation of each nested object (DefaultIndenter)
+    private static final String INDENT = "  ";
+
+    private final Map<String, Object> bundle;
+    // originalRequest of the responses with method and url only
+    private final boolean slimOriginalRequest;
+    // compact JSON (no indentation)
+    private final boolean minify;
+
+    // last rendered request (reused for the originalRequest of its responses)
+    private PostmanRequestItem renderedRequest = null;
+    private String renderedRequestJson = null;
+
+    /**
+     * @param bundle supporting file data (same object passed to postman.mustache)
+     */
+    public PostmanCollectionWriter(Map<String, Object> bundle) {
+        this.bundle = bundle;
+        this.slimOriginalRequest = Boolean.TRUE.equals(bundle.get("slimOriginalRequest"));
+        this.minify = Boolean.TRUE.equals(bundle.get(PostmanV2Generator.MINIFY_OUTPUT));
+    }
+
+    /**
+     * Write the collection to the output stream (the stream is flushed, not closed)
+     *
+     * @param outputStream target of the collection
+     * @throws IOException error writing to the stream
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        write(outputStream, this::writeCollection);
+    }
+
+    /**
+     * Write the collection to the writer (the writer is flushed, not closed)
+     *
+     * @param writer target of the collection
+     * @throws IOException error writing to the writer
+     */
+    public void write(Writer writer) throws IOException {
+        write(JSON_FACTORY.createGenerator(writer), this::writeCollection);
+    }
+
+    /**
+     * Write the collection of a single tag folder (shard): the operations of the tag are the items of the collection
+     *
+     * @param outputStream target of the collection (flushed, not closed)
+     * @param tag name of the folder
+     * @param codegenOperations operations of the tag
+     * @throws IOException error writing to the stream
+     */
+    public void writeShard(OutputStream outputStream, String tag, List<CodegenOperation> codegenOperations) throws IOException {
+        String name = (bundle.get("appName") != null ? bundle.get("appName") + " - " : "") + escapeHtml(tag);
+        write(outputStream, gen -> writeCollection(gen, name, items -> {
+            for (CodegenOperation codegenOperation : codegenOperations) {
+                writeItemOrFragment(items, codegenOperation);
+            }
+        }));
+    }
+
+    /**
+     * Stream of the collection file
+     *
+     * @param outputStream collection file
+     * @param gzip whether to compress the content while writing
+     * @return buffered (or compressing) stream
+     */
+    static OutputStream newOutputStream(OutputStream outputStream, boolean gzip) throws IOException {
+        return gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : new BufferedOutputStream(outputStream, 64 * 1024);
+    }
+
+    private void write(OutputStream outputStream, JsonWriting writing) throws IOException {
+        write(JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8), writing);
+    }
+
+    private void write(JsonGenerator gen, JsonWriting writing) throws IOException {
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        setPrettyPrinter(gen);
+
+        writing.write(gen);
+
+        gen.close();
+    }
+
+    void writeCollection(JsonGenerator gen) throws IOException {
+        writeCollection(gen, (String) bundle.get("appName"), this::writeFolders);
+    }
+
+    void writeCollection(JsonGenerator gen, String name, JsonWriting items) throws IOException {
+        gen.writeStartObject();
+
+        writeInfo(gen, name);
+
+        gen.writeArrayFieldStart("item");
+        items.write(gen);
+        gen.writeEndArray();
+
+        writeAuth(gen);
+        writeVariables(gen);
+
+        gen.writeEndObject();
+    }
+
+    void writeInfo(JsonGenerator gen, String name) throws IOException {
+        gen.writeObjectFieldStart("info");
+        writeUnescaped(gen, "name", name);
+        gen.writeObjectFieldStart("description");
+        writeUnescaped(gen, "content", (String) bundle.get("formattedDescription"));
+        gen.writeStringField("type", "text/markdown");
+        gen.writeEndObject();
+        writeUnescaped(gen, "version", (String) bundle.get("appVersion"));
+        gen.writeStringField("schema", SCHEMA_URL);
+        gen.writeEndObject();
+    }
+
+    @SuppressWarnings("unchecked")
+    void writeFolders(JsonGenerator gen) throws IOException {
+        Map<String, List<CodegenOperation>> codegenOperationsByTag =
+                (Map<String, List<CodegenOperation>>) bundle.get("codegenOperationsByTag");
+        if (codegenOperationsByTag != null) {
+            for (Map.Entry<String, List<CodegenOperation>> entry : codegenOperationsByTag.entrySet()) {
+                gen.writeStartObject();
+                writeEscaped(gen, "name", entry.getKey());
+                gen.writeArrayFieldStart("item");
+                for (CodegenOperation codegenOperation : entry.getValue()) {
+                    writeItemOrFragment(gen, codegenOperation);
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        }
+
+        List<CodegenOperation> codegenOperationsList = (List<CodegenOperation>) bundle.get("codegenOperationsList");
+        if (codegenOperationsList != null) {
+            for (CodegenOperation codegenOperation : codegenOperationsList) {
+                writeItemOrFragment(gen, codegenOperation);
+            }
+        }
+    }
+
+    private void writeItemOrFragment(JsonGenerator gen, CodegenOperation codegenOperation) throws IOException {
+        String fragment = (String) codegenOperation.vendorExtensions.get(ITEM_FRAGMENT);
+        if (fragment != null) {
+            writeRendered(gen, fragment);
+        } else {
+            writeItem(gen, codegenOperation);
+        }
+    }
+
+    /**
+     * Render the item of an operation as standalone JSON (same output as writeItem, without nesting)
+     *
+     * @param codegenOperation operation with its Postman requests
+     * @param bundle supporting file data (options)
+     * @return item JSON
+     */
+    static String renderItem(CodegenOperation codegenOperation, Map<String, Object> bundle) {
+        PostmanCollectionWriter collectionWriter = new PostmanCollectionWriter(bundle);
+        return collectionWriter.render(gen -> collectionWriter.writeItem(gen, codegenOperation));
+    }
+
+    private void setPrettyPrinter(JsonGenerator gen) {
+        if (!minify) {
+            gen.setPrettyPrinter(new PostmanPrettyPrinter());
+        }
+    }
+
+    // render a value as standalone JSON
+    private String render(JsonWriting writing) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(writer)) {
+            setPrettyPrinter(gen);
+            writing.write(gen);
+        } catch (IOException e) {
+            // StringWriter target does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    // write a value rendered without nesting: indent each line to the current position
+    private static void writeRendered(JsonGenerator gen, String json) throws IOException {
+        int nesting = 0;
+        for (JsonStreamContext context = gen.getOutputContext(); context != null; context = context.getParent()) {
+            if (context.inObject()) {
+                nesting++;
+            }
+        }
+        gen.writeRawValue(nesting > 0 ? json.replace("\n", "\n" + INDENT.repeat(nesting)) : json);
+    }
+
+    // request rendered once, written again for the originalRequest of its responses
+    private void writeSharedRequest(JsonGenerator gen, CodegenOperation codegenOperation, PostmanRequestItem postmanRequest) throws IOException {
+        if (postmanRequest != renderedRequest) {
+            renderedRequestJson = render(g -> writeRequest(g, codegenOperation, postmanRequest));
+            renderedRequest = postmanRequest;
+        }
+        writeRendered(gen, renderedRequestJson);
+    }
+
+    // same as item.mustache
+    @SuppressWarnings("unchecked")
+    void writeItem(JsonGenerator gen, CodegenOperation codegenOperation) throws IOException {
+        gen.writeStartObject();
+        writeUnescaped(gen, "name", escapeHtml(codegenOperation.path) + (codegenOperation.isDeprecated ? " (DEPRECATED)" : ""));
+        writeUnescaped(gen, "description", codegenOperation.notes);
+
+        gen.writeArrayFieldStart("item");
+        List<PostmanRequestItem> postmanRequests =
+                (List<PostmanRequestItem>) codegenOperation.vendorExtensions.get("postmanRequests");
+        if (postmanRequests != null) {
+            for (PostmanRequestItem postmanRequest : postmanRequests) {
+                gen.writeStartObject();
+                writeUnescaped(gen, "name", postmanRequest.getName());
+                gen.writeFieldName("request");
+                writeSharedRequest(gen, codegenOperation, postmanRequest);
+
+                gen.writeArrayFieldStart("response");
+                if (postmanRequest.getResponses() != null) {
+                    for (PostmanResponse postmanResponse : postmanRequest.getResponses()) {
+                        writeResponse(gen, codegenOperation, postmanResponse);
+                    }
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        }
+        gen.writeEndArray();
+
+        gen.writeEndObject();
+    }
+
+    void writeResponse(JsonGenerator gen, CodegenOperation codegenOperation, PostmanResponse postmanResponse) throws IOException {
+        gen.writeStartObject();
+        writeEscaped(gen, "name", postmanResponse.getName());
+        // HTTP status code is rendered as a number
+        gen.writeFieldName("code");
+        gen.writeRawValue(escapeHtml(postmanResponse.getCode()));
+        writeEscaped(gen, "status", postmanResponse.getStatus());
+        gen.writeArrayFieldStart("header");
+        gen.writeStartObject();
+        gen.writeStringField("key", "Content-Type");
+        gen.writeStringField("value", "application/json");
+        gen.writeEndObject();
+        gen.writeEndArray();
+        gen.writeStringField("_postman_previewlanguage", "json");
+        gen.writeArrayFieldStart("cookie");
+        gen.writeEndArray();
+        writeUnescaped(gen, "body", postmanResponse.getBody());
+        gen.writeFieldName("originalRequest");
+        if (postmanResponse.getOriginalRequest() != null && slimOriginalRequest) {
+            writeSlimRequest(gen, codegenOperation, postmanResponse.getOriginalRequest());
+        } else if (postmanResponse.getOriginalRequest() != null) {
+            writeSharedRequest(gen, codegenOperation, postmanResponse.getOriginalRequest());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeEndObject();
+    }
+
+    // same as request.mustache
+    void writeRequest(JsonGenerator gen, CodegenOperation codegenOperation, PostmanRequestItem postmanRequest) throws IOException {
+        gen.writeStartObject();
+        writeEscaped(gen, "method", postmanRequest.getHttpMethod());
+
+        gen.writeArrayFieldStart("header");
+        for (CodegenParameter header : codegenOperation.headerParams) {
+            String defaultValue = header.getSchema() != null ? header.getSchema().defaultValue : null;
+            gen.writeStartObject();
+            writeEscaped(gen, "key", header.baseName);
+            writeEscaped(gen, "value", defaultValue);
+            writeUnescaped(gen, "description", header.description);
+            gen.writeBooleanField("disabled", defaultValue == null);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+
+        gen.writeObjectFieldStart("body");
+        gen.writeStringField("mode", "raw");
+        writeUnescaped(gen, "raw", postmanRequest.getBody());
+        gen.writeObjectFieldStart("options");
+        gen.writeObjectFieldStart("raw");
+        gen.writeStringField("language", "json");
+        gen.writeEndObject();
+        gen.writeEndObject();
+        gen.writeEndObject();
+
+        writeUrl(gen, codegenOperation);
+
+        writeUnescaped(gen, "description", codegenOperation.notes);
+        gen.writeEndObject();
+    }
+
+    // same as slimRequest.mustache
+    void writeSlimRequest(JsonGenerator gen, CodegenOperation codegenOperation, PostmanRequestItem postmanRequest) throws IOException {
+        gen.writeStartObject();
+        writeEscaped(gen, "method", postmanRequest.getHttpMethod());
+        writeUrl(gen, codegenOperation);
+        gen.writeEndObject();
+    }
+
+    // same as url.mustache
+    void writeUrl(JsonGenerator gen, CodegenOperation codegenOperation) throws IOException {
+        gen.writeObjectFieldStart("url");
+        writeUnescaped(gen, "raw", "{{baseUrl}}" + escapeHtml(codegenOperation.path));
+        gen.writeArrayFieldStart("host");
+        gen.writeString("{{baseUrl}}");
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("path");
+        String[] pathSegments = (String[]) codegenOperation.vendorExtensions.get("pathSegments");
+        if (pathSegments != null) {
+            for (String pathSegment : pathSegments) {
+                writeEscapedValue(gen, pathSegment);
+            }
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("variable");
+        for (CodegenParameter pathParam : codegenOperation.pathParams) {
+            gen.writeStartObject();
+            writeEscaped(gen, "key", pathParam.paramName);
+            writeEscaped(gen, "value", pathParam.defaultValue);
+            writeUnescaped(gen, "description", pathParam.description);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("query");
+        for (CodegenParameter queryParam : codegenOperation.queryParams) {
+            gen.writeStartObject();
+            writeEscaped(gen, "key", queryParam.paramName);
+            writeEscaped(gen, "value", queryParam.example);
+            writeUnescaped(gen, "description", queryParam.description);
+            gen.writeBooleanField("disabled", !queryParam.required);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    @SuppressWarnings("unchecked")
+    void writeAuth(JsonGenerator gen) throws IOException {
+        List<CodegenSecurity> authMethods = (List<CodegenSecurity>) bundle.get("authMethods");
+        if (authMethods == null || authMethods.isEmpty()) {
+            return;
+        }
+        // use first auth method only
+        CodegenSecurity authMethod = authMethods.get(0);
+
+        if (Boolean.TRUE.equals(authMethod.isApiKey)) {
+            gen.writeObjectFieldStart("auth");
+            gen.writeStringField("type", "apikey");
+            gen.writeArrayFieldStart("apikey");
+            writeAuthAttribute(gen, "value", "{{" + escapeHtml(authMethod.keyParamName) + "}}");
+            writeAuthAttribute(gen, "key", escapeHtml(authMethod.keyParamName));
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        if (Boolean.TRUE.equals(authMethod.isBasic)) {
+            gen.writeObjectFieldStart("auth");
+            gen.writeStringField("type", "basic");
+            gen.writeArrayFieldStart("basic");
+            writeAuthAttribute(gen, "username", "{{USERNAME}}");
+            writeAuthAttribute(gen, "password", "{{PASSWORD}}");
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    private void writeAuthAttribute(JsonGenerator gen, String key, String value) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("key", key);
+        writeUnescaped(gen, "value", value);
+        gen.writeStringField("type", "string");
+        gen.writeEndObject();
+    }
+
+    @SuppressWarnings("unchecked")
+    void writeVariables(JsonGenerator gen) throws IOException {
+        gen.writeArrayFieldStart("variable");
+
+        List<CodegenServer> servers = (List<CodegenServer>) bundle.get("servers");
+        if (servers != null && !servers.isEmpty()) {
+            // use first server only
+            writeVariable(gen, "baseUrl", escapeHtml(servers.get(0).url), "string");
+        }
+
+        List<CodegenSecurity> authMethods = (List<CodegenSecurity>) bundle.get("authMethods");
+        if (authMethods != null) {
+            for (CodegenSecurity authMethod : authMethods) {
+                if (Boolean.TRUE.equals(authMethod.isApiKey)) {
+                    writeVariable(gen, escapeHtml(authMethod.keyParamName), "", "string");
+                }
+            }
+        }
+
+        for (PostmanVariable variable : getVariables()) {
+            writeVariable(gen, escapeHtml(variable.getName()), escapeHtml(variable.getDefaultValue()),
+                    escapeHtml(variable.getType()));
+        }
+
+        gen.writeEndArray();
+    }
+
+    private void writeVariable(JsonGenerator gen, String key, String value, String type) throws IOException {
+        gen.writeStartObject();
+        writeUnescaped(gen, "key", key);
+        writeUnescaped(gen, "value", value);
+        writeUnescaped(gen, "type", type);
+        gen.writeEndObject();
+    }
+
+    // variables are stored in the generator vendorExtensions, available to the template via the first api
+    @SuppressWarnings("unchecked")
+    Collection<PostmanVariable> getVariables() {
+        Map<String, Object> apiInfo = (Map<String, Object>) bundle.get("apiInfo");
+        if (apiInfo == null) {
+            return List.of();
+        }
+        List<Map<String, Object>> apis = (List<Map<String, Object>>) apiInfo.get("apis");
+        if (apis == null || apis.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> vendorExtensions = (Map<String, Object>) apis.get(0).get("vendorExtensions");
+        if (vendorExtensions == null || vendorExtensions.get("variables") == null) {
+            return List.of();
+        }
+        return (Collection<PostmanVariable>) vendorExtensions.get("variables");
+    }
+
+    // write value already escaped for JSON ({{{value}}} in the templates)
+    private void writeUnescaped(JsonGenerator gen, String fieldName, String value) throws IOException {
+        gen.writeFieldName(fieldName);
+        gen.writeRawValue("\"");
+        if (value != null) {
+            gen.writeRaw(value);
+        }
+        gen.writeRaw('"');
+    }
+
+    // write value applying HTML escaping ({{value}} in the templates)
+    private void writeEscaped(JsonGenerator gen, String fieldName, String value) throws IOException {
+        gen.writeFieldName(fieldName);
+        writeEscapedValue(gen, value);
+    }
+
+    private void writeEscapedValue(JsonGenerator gen, String value) throws IOException {
+        gen.writeRawValue("\"");
+        gen.writeRaw(escapeHtml(value));
+        gen.writeRaw('"');
+    }
+
+    String escapeHtml(String value) {
+        return value == null ? "" : Escapers.HTML.escape(value);
+    }
+
+    /**
+     * Pretty printer using the same field separator as the templates ("key": value)
+     */
+    static class PostmanPrettyPrinter extends DefaultPrettyPrinter {
+
+        private static final long serialVersionUID = 1L;
+
+        PostmanPrettyPrinter() {
+            super();
+        }
+
+        PostmanPrettyPrinter(PostmanPrettyPrinter base) {
+            super(base);
+        }
+
+        @Override
+        public DefaultPrettyPrinter createInstance() {
+            return new PostmanPrettyPrinter(this);
+        }
+
+        @Override
+        public void writeObjectFieldValueSeparator(JsonGenerator g) throws IOException {
+            g.writeRaw(": ");
+        }
+    }
+
+    // writes a value with the generator
+    private interface JsonWriting {
+        void write(JsonGenerator gen) throws IOException;
+    }
+}
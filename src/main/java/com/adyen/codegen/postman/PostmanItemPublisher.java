@@ -0,0 +1,69 @@
+package com.adyen.codegen.postman;
+
+import com.adyen.codegen.postman.model.PostmanItem;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Publish the items of a collection while it is generated, so consumers (ie upload, indexing) can process each item
+ * as soon as its operation is processed instead of waiting for the whole collection.
+ * <p>
+ * Items are published in the processing order of the operations (the collection sorts them by path in each folder), each
+ * with its folder, operation, requests (with their response examples) and its JSON as written in the collection.
+ * Backpressure: the generation waits while the buffer of a subscriber is full (see {@link SubmissionPublisher#submit}).
+ * <p>
+ * Subscribe before {@link #generate}; a publisher generates one collection, then completes its subscribers
+ * (or fails them with the error of the generation).
+ */
+public class PostmanItemPublisher implements Flow.Publisher<PostmanItem> {
+
+    private final PostmanCollectionGenerator generator;
+    private final SubmissionPublisher<PostmanItem> publisher;
+
+    /**
+     * @param additionalProperties Options of the generation (see {@link PostmanCollectionGenerator})
+     */
+    public PostmanItemPublisher(Map<String, Object> additionalProperties) {
+        this(additionalProperties, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param additionalProperties Options of the generation (see {@link PostmanCollectionGenerator})
+     * @param executor Delivers the items to the subscribers
+     * @param maxBufferCapacity Maximum number of items buffered for each subscriber
+     */
+    public PostmanItemPublisher(Map<String, Object> additionalProperties, Executor executor, int maxBufferCapacity) {
+        this.generator = new PostmanCollectionGenerator(additionalProperties);
+        this.publisher = new SubmissionPublisher<>(executor, maxBufferCapacity);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super PostmanItem> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Generate the collection, publishing each item as soon as it is built
+     *
+     * @param openAPI Parsed spec (modified by the generation)
+     * @param outputStream Target of the collection (flushed, not closed), {@code OutputStream.nullOutputStream()} when only the items are used
+     * @return metrics of the generation
+     */
+    public GenerationMetrics generate(OpenAPI openAPI, OutputStream outputStream) {
+        GenerationMetrics metrics;
+        try {
+            metrics = generator.generate(openAPI, outputStream, publisher::submit);
+        } catch (RuntimeException e) {
+            publisher.closeExceptionally(e);
+            throw e;
+        }
+        publisher.close();
+        return metrics;
+    }
+}
@@ -0,0 +1,271 @@
+package com.adyen.codegen.postman;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Push a generated collection to the Postman API (create collection), streaming the file wrapped in
+ * {@code {"collection": ...}} instead of loading it in memory.
+ * <p>
+ * The body is sent with chunked transfer encoding (length unknown upfront), optionally gzip-compressed on the fly.
+ * Creating a collection is not idempotent: only the requests not processed by the API are retried with exponential backoff
+ * (or the Retry-After of the response), i.e. the connection could not be opened, 429 and 503 responses. Other errors
+ * (i.e. connection lost while waiting for the response, 500) fail the push, the collection might have been created.
+ * Waits are capped by the maximum backoff: a Retry-After above it (or not a number of seconds) is ignored.
+ */
+public class PostmanPushClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostmanPushClient.class);
+
+    public static final String DEFAULT_BASE_URL = "https://api.getpostman.com";
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final int DEFAULT_MAX_ATTEMPTS = 4;
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(60);
+
+    private static final byte[] PREFIX = "{\"collection\": ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = " }".getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final URI baseUrl;
+    private final String apiKey;
+    private final boolean gzip;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final HttpClient httpClient;
+
+    /**
+     * @param baseUrl Postman API base url (ie local stub server when testing)
+     * @param apiKey Postman API key
+     * @param gzip whether to gzip-compress the request body
+     * @param maxAttempts Number of attempts (first request included)
+     * @param initialBackoff Wait before the first retry, doubled after each attempt
+     * @param maxBackoff Longest wait between two attempts (backoff and Retry-After)
+     */
+    public PostmanPushClient(String baseUrl, String apiKey, boolean gzip, int maxAttempts, Duration initialBackoff,
+                             Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        if (maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("maxBackoff must not be shorter than initialBackoff: " + maxBackoff);
+        }
+        this.baseUrl = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.apiKey = apiKey;
+        this.gzip = gzip;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        // HTTP/1.1: body of unknown length sent in chunks
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    public PostmanPushClient(String baseUrl, String apiKey) {
+        this(baseUrl, apiKey, false, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * Create the collection
+     *
+     * @param collection Generated collection (postman.json, or postman.json.gz decompressed while sending)
+     * @return Response of the Postman API (2xx)
+     * @throws IOException when the collection cannot be read or the push still fails after the last attempt
+     */
+    public HttpResponse<String> push(Path collection) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(collection)) {
+            throw new IOException("Collection not found: " + collection);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve("collections"))
+                .header("Content-Type", "application/json")
+                .header(API_KEY_HEADER, apiKey)
+                // new stream for each attempt
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> openBody(collection)));
+        if (gzip) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        HttpRequest request = builder.build();
+
+        Duration backoff = initialBackoff;
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                if (!isNotSent(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                LOGGER.warn("Push attempt {} failed ({}), retrying in {} ms", attempt, e.getMessage(), backoff.toMillis());
+                Thread.sleep(backoff.toMillis());
+                backoff = nextBackoff(backoff);
+                continue;
+            }
+
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                LOGGER.info("Pushed {} ({} attempts)", collection, attempt);
+                return response;
+            }
+            if (!isRetryable(status) || attempt >= maxAttempts) {
+                throw new IOException("Push failed with status " + status + ": " + response.body());
+            }
+
+            Duration wait = getRetryAfter(response).filter(retryAfter -> retryAfter.compareTo(maxBackoff) <= 0).orElse(backoff);
+            LOGGER.warn("Push attempt {} failed with status {}, retrying in {} ms", attempt, status, wait.toMillis());
+            Thread.sleep(wait.toMillis());
+            backoff = nextBackoff(backoff);
+        }
+    }
+
+    // {"collection": <file> } (compressed when gzip)
+    private InputStream openBody(Path collection) {
+        try {
+            InputStream file = Files.newInputStream(collection);
+            if (collection.getFileName().toString().endsWith(PostmanV2Generator.GZIP_EXTENSION)) {
+                file = new GZIPInputStream(file, BUFFER_SIZE);
+            }
+            InputStream body = new SequenceInputStream(Collections.enumeration(List.of(
+                    new ByteArrayInputStream(PREFIX), file, new ByteArrayInputStream(SUFFIX))));
+            return gzip ? new GzipInputStream(body) : body;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + collection, e);
+        }
+    }
+
+    // rate limited or unavailable: the request was not processed
+    private static boolean isRetryable(int status) {
+        return status == 429 || status == 503;
+    }
+
+    // connection not opened: the request was not sent
+    private static boolean isNotSent(IOException e) {
+        return e instanceof ConnectException || e instanceof HttpConnectTimeoutException;
+    }
+
+    // doubled, up to the maximum backoff
+    private Duration nextBackoff(Duration backoff) {
+        Duration next = backoff.multipliedBy(2);
+        return next.compareTo(maxBackoff) > 0 ? maxBackoff : next;
+    }
+
+    // Retry-After in seconds (the HTTP date format and values too large for a long are ignored)
+    private static Optional<Duration> getRetryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .filter(value -> value.matches("\\d{1,18}"))
+                .map(value -> Duration.ofSeconds(Long.parseLong(value)));
+    }
+
+    /**
+     * Input stream compressing (gzip) another input stream while it is read
+     */
+    static class GzipInputStream extends InputStream {
+
+        private final InputStream source;
+        private final ByteArrayOutputStream compressed = new ByteArrayOutputStream(BUFFER_SIZE);
+        private final GZIPOutputStream gzipOutputStream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private byte[] pending = new byte[0];
+        private int position = 0;
+        private boolean finished = false;
+
+        GzipInputStream(InputStream source) throws IOException {
+            this.source = source;
+            this.gzipOutputStream = new GZIPOutputStream(compressed, BUFFER_SIZE);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int read = read(one, 0, 1);
+            return read == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            // compress the next block of the source until some output is available
+            while (position == pending.length) {
+                if (finished) {
+                    return -1;
+                }
+                int read = source.read(buffer);
+                if (read == -1) {
+                    gzipOutputStream.finish();
+                    finished = true;
+                } else {
+                    gzipOutputStream.write(buffer, 0, read);
+                }
+                pending = compressed.toByteArray();
+                position = 0;
+                compressed.reset();
+            }
+
+            int count = Math.min(len, pending.length - position);
+            System.arraycopy(pending, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // releases the deflater
+            gzipOutputStream.close();
+            source.close();
+        }
+    }
+
+    /**
+     * Usage: PostmanPushClient &lt;collection file&gt; [--gzip]
+     * <p>
+     * The API key is read from POSTMAN_API_KEY, the base url from POSTMAN_API_URL (default https://api.getpostman.com)
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: PostmanPushClient <collection file> [--gzip]");
+            System.exit(2);
+        }
+        String apiKey = System.getenv("POSTMAN_API_KEY");
+        if (apiKey == null || apiKey.isEmpty()) {
+            System.err.println("ERROR: define POSTMAN_API_KEY to push the collection");
+            System.exit(2);
+        }
+        String baseUrl = Optional.ofNullable(System.getenv("POSTMAN_API_URL")).filter(url -> !url.isEmpty()).orElse(DEFAULT_BASE_URL);
+        boolean gzip = args.length > 1 && args[1].equals("--gzip");
+
+        PostmanPushClient client = new PostmanPushClient(baseUrl, apiKey, gzip, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF,
+                DEFAULT_MAX_BACKOFF);
+        try {
+            System.out.println(client.push(Paths.get(args[0])).body());
+        } catch (IOException e) {
+            LOGGER.error("Could not push {}: {}", args[0], e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local HTTP server generating the collections on request, keeping the JVM and the caches warm between requests.
+ * <ul>
+ *     <li>{@code POST /generate?folderStrategy=Tags&...}: the body is the spec (JSON or YAML), the query parameters are
+ *     the generator options. The response streams the collection (gzip-compressed with {@code gzipOutput=true})</li>
+ *     <li>{@code GET /metrics}: number of requests, latency percentiles of the recent generations and spec cache statistics</li>
+ * </ul>
+ * Specs are cached by content hash (SHA-256): the component examples serialized by the previous generations are reused, and
+ * once a spec is requested again a parsed copy is prepared in the background for its next request (the generation modifies
+ * the parsed spec, so each request takes its own copy). Above the maximum number of specs, the least recently used spec is evicted.
+ * <p>
+ * The server has no authentication: it listens on the loopback interface unless another address is given. The specs are
+ * parsed without fetching external $ref (rejected).
+ */
+public class PostmanServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostmanServer.class);
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_MAX_SPECS = 16;
+
+    // latencies kept for the percentiles (most recent requests)
+    static final int LATENCY_WINDOW = 1024;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    // parses the next copy of the cached specs
+    private final ExecutorService parser = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "postman-server-parser");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int maxSpecs;
+
+    // least recently used first
+    private final Map<String, CachedSpec> specs = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong specHits = new AtomicLong();
+    private final AtomicLong specMisses = new AtomicLong();
+    private final AtomicLong specParses = new AtomicLong();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private long latencyCount = 0;
+
+    /**
+     * @param address Address to listen to (port 0: any free port, see {@link #getPort()})
+     * @param threads Maximum number of requests handled concurrently
+     * @param maxSpecs Maximum number of specs kept in cache
+     */
+    public PostmanServer(InetSocketAddress address, int threads, int maxSpecs) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.maxSpecs = maxSpecs;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.httpServer = HttpServer.create(address, 0);
+        this.httpServer.createContext("/generate", this::handleGenerate);
+        this.httpServer.createContext("/metrics", this::handleMetrics);
+        this.httpServer.setExecutor(executor);
+    }
+
+    public void start() {
+        httpServer.start();
+        LOGGER.info("Listening on {}", httpServer.getAddress());
+    }
+
+    /**
+     * Stop accepting requests, waiting at most delaySeconds for the requests in progress
+     */
+    public void stop(int delaySeconds) {
+        httpServer.stop(delaySeconds);
+        executor.shutdown();
+        parser.shutdownNow();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        requests.incrementAndGet();
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                errors.incrementAndGet();
+                sendError(exchange, 405, "POST the spec to generate its collection");
+                return;
+            }
+            Map<String, Object> additionalProperties = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] content = exchange.getRequestBody().readAllBytes();
+
+            PostmanCollectionGenerator generator;
+            OpenAPI openAPI;
+            CachedSpec cachedSpec;
+            try {
+                generator = new PostmanCollectionGenerator(additionalProperties);
+                cachedSpec = getCachedSpec(content);
+                openAPI = cachedSpec.take();
+            } catch (IllegalArgumentException e) {
+                errors.incrementAndGet();
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            boolean gzip = Boolean.parseBoolean(String.valueOf(additionalProperties.get(PostmanV2Generator.GZIP_OUTPUT)));
+            exchange.getResponseHeaders().set("Content-Type", gzip ? "application/gzip" : "application/json; charset=utf-8");
+            ResponseStream responseStream = new ResponseStream(exchange);
+            try {
+                generator.generate(openAPI, cachedSpec.exampleCache, responseStream);
+            } catch (RuntimeException e) {
+                LOGGER.error("Could not generate the collection", e);
+                if (!responseStream.started) {
+                    errors.incrementAndGet();
+                    sendError(exchange, 500, e.getMessage());
+                    return;
+                }
+                // the collection is incomplete: the client gets a truncated response
+                throw e;
+            }
+            responseStream.close();
+            recordLatency(System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            errors.incrementAndGet();
+            throw e;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "GET the metrics");
+                return;
+            }
+            byte[] body = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(getMetrics());
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Requests, errors, latency percentiles (milliseconds, last {@link #LATENCY_WINDOW} generations) and spec cache statistics
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("requests", requests.get());
+        map.put("errors", errors.get());
+
+        long[] sorted;
+        synchronized (latencies) {
+            sorted = Arrays.copyOf(latencies, (int) Math.min(latencyCount, LATENCY_WINDOW));
+        }
+        Arrays.sort(sorted);
+        Map<String, Object> latencyMap = new LinkedHashMap<>();
+        latencyMap.put("count", sorted.length);
+        latencyMap.put("p50", toMillis(percentile(sorted, 50)));
+        latencyMap.put("p90", toMillis(percentile(sorted, 90)));
+        latencyMap.put("p99", toMillis(percentile(sorted, 99)));
+        latencyMap.put("max", toMillis(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+        map.put("latencyMs", latencyMap);
+
+        Map<String, Object> specMap = new LinkedHashMap<>();
+        synchronized (specs) {
+            specMap.put("size", specs.size());
+        }
+        specMap.put("hits", specHits.get());
+        specMap.put("misses", specMisses.get());
+        specMap.put("parses", specParses.get());
+        map.put("specCache", specMap);
+
+        return map;
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (latencies) {
+            latencies[(int) (latencyCount++ % LATENCY_WINDOW)] = nanos;
+        }
+    }
+
+    // nearest-rank percentile of sorted values (0 when empty)
+    static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    // cached spec of the content, parsed (and cached) on the first request
+    private CachedSpec getCachedSpec(byte[] content) {
+        String hash = sha256(content);
+        synchronized (specs) {
+            CachedSpec cachedSpec = specs.get(hash);
+            if (cachedSpec != null) {
+                specHits.incrementAndGet();
+                return cachedSpec;
+            }
+        }
+        specMisses.incrementAndGet();
+        // invalid specs are not cached
+        String spec = new String(content, StandardCharsets.UTF_8);
+        specParses.incrementAndGet();
+        CachedSpec cachedSpec = new CachedSpec(spec, CodegenUtils.parseUntrusted(spec));
+        synchronized (specs) {
+            specs.put(hash, cachedSpec);
+            if (specs.size() > maxSpecs) {
+                Iterator<CachedSpec> leastRecentlyUsed = specs.values().iterator();
+                leastRecentlyUsed.next().evict();
+                leastRecentlyUsed.remove();
+            }
+        }
+        return cachedSpec;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // query parameters as generator options
+    static Map<String, Object> parseQuery(String query) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            String name = equals >= 0 ? parameter.substring(0, equals) : parameter;
+            String value = equals >= 0 ? parameter.substring(equals + 1) : "true";
+            if (!name.isEmpty()) {
+                parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    // parsed copies and component examples of a spec
+    private class CachedSpec {
+
+        // checked for external $ref when first parsed
+        private final String content;
+        // component examples shared by the generations (each counts its own hits and misses)
+        private final ExampleCache exampleCache = new ExampleCache();
+        // copy for the next request (null: none prepared)
+        private CompletableFuture<OpenAPI> spare;
+        private int requests = 0;
+        private boolean evicted = false;
+
+        CachedSpec(String content, OpenAPI openAPI) {
+            this.content = content;
+            this.spare = CompletableFuture.completedFuture(openAPI);
+        }
+
+        // parsed copy for this request only (the spare copy if prepared)
+        OpenAPI take() {
+            CompletableFuture<OpenAPI> current;
+            synchronized (this) {
+                requests++;
+                current = spare;
+                spare = null;
+            }
+            OpenAPI openAPI;
+            if (current == null) {
+                // second request, or concurrent requests
+                specParses.incrementAndGet();
+                openAPI = CodegenUtils.parse(content);
+            } else {
+                try {
+                    openAPI = current.join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+            prepareSpare();
+            return openAPI;
+        }
+
+        // copy for the next request, parsed in the background once the spec is requested again (specs requested once are parsed once)
+        private synchronized void prepareSpare() {
+            if (requests > 1 && spare == null && !evicted) {
+                specParses.incrementAndGet();
+                spare = CompletableFuture.supplyAsync(() -> CodegenUtils.parse(content), parser);
+            }
+        }
+
+        // no copy prepared for a spec no longer cached
+        synchronized void evict() {
+            evicted = true;
+            if (spare != null) {
+                spare.cancel(false);
+                spare = null;
+            }
+        }
+    }
+
+    // sends the response headers (chunked) on the first write, so errors before the output can still be reported
+    private static class ResponseStream extends FilterOutputStream {
+
+        private final HttpExchange exchange;
+        private boolean started = false;
+
+        ResponseStream(HttpExchange exchange) {
+            super(exchange.getResponseBody());
+            this.exchange = exchange;
+        }
+
+        private void start() throws IOException {
+            if (!started) {
+                started = true;
+                exchange.sendResponseHeaders(200, 0);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            start();
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            start();
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            start();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            start();
+            out.close();
+        }
+    }
+
+    /**
+     * Usage: PostmanServer [port] [threads] [bind address]
+     * <p>
+     * Listens on the loopback interface by default: set the bind address (i.e 0.0.0.0 in a container) to accept
+     * the requests of other hosts.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        InetAddress address = args.length > 2 ? InetAddress.getByName(args[2]) : InetAddress.getLoopbackAddress();
+
+        PostmanServer server = new PostmanServer(new InetSocketAddress(address, port), threads, DEFAULT_MAX_SPECS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        server.start();
+    }
+}
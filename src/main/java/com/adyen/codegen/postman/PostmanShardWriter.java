@@ -0,0 +1,220 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openapitools.codegen.CodegenOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Write each tag folder as its own collection file (shard) and a manifest listing the shards with their size and SHA-256,
+ * so consumers can import or upload only the shards that changed.
+ */
+public class PostmanShardWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostmanShardWriter.class);
+
+    public static final String MANIFEST_FILE = "postman-manifest.json";
+    static final String SHARD_PREFIX = "postman-";
+
+    private final Path outputDir;
+    private final Map<String, Object> bundle;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // gzip-compressed shards (.json.gz)
+    private final boolean gzip;
+
+    /**
+     * @param outputDir directory of the shards and the manifest
+     * @param bundle supporting file data (same object passed to PostmanCollectionWriter)
+     */
+    public PostmanShardWriter(Path outputDir, Map<String, Object> bundle) {
+        this.outputDir = outputDir;
+        this.bundle = bundle;
+        this.gzip = Boolean.TRUE.equals(bundle.get(PostmanV2Generator.GZIP_OUTPUT));
+    }
+
+    /**
+     * Write the shards (concurrently) and the manifest, removing the shards of the previous manifest no longer generated
+     *
+     * @param codegenOperationsByTag operations by tag (one shard per tag, in the order of the map)
+     * @param executor executor writing the shards
+     * @return shards in the order of the tags
+     */
+    public List<Shard> write(Map<String, List<CodegenOperation>> codegenOperationsByTag, Executor executor) throws IOException {
+        Files.createDirectories(outputDir);
+        Set<String> previousFiles = readManifestFiles();
+
+        // file names assigned upfront (unique even when tags only differ by special characters)
+        Map<String, String> files = new LinkedHashMap<>();
+        Set<String> usedNames = new HashSet<>();
+        for (String tag : codegenOperationsByTag.keySet()) {
+            files.put(tag, getFileName(tag, usedNames) + (gzip ? PostmanV2Generator.GZIP_EXTENSION : ""));
+        }
+
+        List<CompletableFuture<Shard>> futures = new ArrayList<>();
+        for (Map.Entry<String, List<CodegenOperation>> entry : codegenOperationsByTag.entrySet()) {
+            String file = files.get(entry.getKey());
+            futures.add(CompletableFuture.supplyAsync(() -> writeShard(entry.getKey(), file, entry.getValue()), executor));
+        }
+
+        List<Shard> shards = new ArrayList<>();
+        for (CompletableFuture<Shard> future : futures) {
+            shards.add(join(future));
+        }
+
+        writeManifest(shards);
+
+        previousFiles.removeAll(files.values());
+        for (String file : previousFiles) {
+            // only files listed by our manifest are removed
+            if (Files.deleteIfExists(outputDir.resolve(file))) {
+                LOGGER.info("Removed stale shard {}", file);
+            }
+        }
+        return shards;
+    }
+
+    private Shard writeShard(String tag, String file, List<CodegenOperation> codegenOperations) {
+        Path path = outputDir.resolve(file);
+        MessageDigest digest = newDigest();
+        try {
+            // digest of the file content (compressed when gzip)
+            try (OutputStream outputStream = PostmanCollectionWriter.newOutputStream(
+                    new DigestOutputStream(Files.newOutputStream(path), digest), gzip)) {
+                new PostmanCollectionWriter(bundle).writeShard(outputStream, tag, codegenOperations);
+            }
+            return new Shard(tag, file, codegenOperations.size(), Files.size(path), OperationHasher.toHex(digest.digest()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write shard " + path, e);
+        }
+    }
+
+    private void writeManifest(List<Shard> shards) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("name", (String) bundle.get("appName"));
+        root.put("version", (String) bundle.get("appVersion"));
+        ArrayNode shardsNode = root.putArray("shards");
+        for (Shard shard : shards) {
+            shardsNode.addObject()
+                    .put("tag", shard.getTag())
+                    .put("file", shard.getFile())
+                    .put("items", shard.getItems())
+                    .put("bytes", shard.getBytes())
+                    .put("sha256", shard.getSha256());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(outputDir.resolve(MANIFEST_FILE).toFile(), root);
+    }
+
+    // shard files of the previous manifest (empty when missing or unreadable)
+    private Set<String> readManifestFiles() {
+        Set<String> files = new HashSet<>();
+        Path manifest = outputDir.resolve(MANIFEST_FILE);
+        if (Files.exists(manifest)) {
+            try {
+                for (JsonNode shard : objectMapper.readTree(manifest.toFile()).path("shards")) {
+                    String file = shard.path("file").asText("");
+                    // never follow paths out of the output directory
+                    if (file.startsWith(SHARD_PREFIX) && !file.contains("/") && !file.contains("\\")) {
+                        files.add(file);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not read previous manifest {}: stale shards not removed", manifest);
+            }
+        }
+        return files;
+    }
+
+    // postman-<tag>.json with the characters not safe in file names replaced
+    static String getFileName(String tag, Set<String> usedNames) {
+        String name = tag.replaceAll("[^A-Za-z0-9._]+", "-").replaceAll("^[-.]+|-+$", "");
+        if (name.isEmpty()) {
+            name = "tag";
+        }
+        String unique = name;
+        for (int i = 2; !usedNames.add(unique.toLowerCase()); i++) {
+            unique = name + "-" + i;
+        }
+        return SHARD_PREFIX + unique + ".json";
+    }
+
+    private static Shard join(CompletableFuture<Shard> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Collection file of a tag
+     */
+    public static class Shard {
+
+        private final String tag;
+        private final String file;
+        private final int items;
+        private final long bytes;
+        private final String sha256;
+
+        Shard(String tag, String file, int items, long bytes, String sha256) {
+            this.tag = tag;
+            this.file = file;
+            this.items = items;
+            this.bytes = bytes;
+            this.sha256 = sha256;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public int getItems() {
+            return items;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+}
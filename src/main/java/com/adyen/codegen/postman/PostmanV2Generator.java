@@ -1,16 +1,34 @@
 package com.adyen.codegen.postman;
 
+import com.adyen.codegen.postman.model.PostmanItem;
 import com.adyen.codegen.postman.model.PostmanRequestItem;
 import com.adyen.codegen.postman.model.PostmanResponse;
 import com.adyen.codegen.postman.model.PostmanVariable;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.examples.Example;
 import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.servers.Server;
 import io.swagger.v3.oas.models.servers.ServerVariable;
 import org.openapitools.codegen.*;
 import org.openapitools.codegen.model.*;
-
+import org.openapitools.codegen.utils.ModelUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +36,8 @@ import java.util.stream.Collectors;
  */
 public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(PostmanV2Generator.class);
+
   protected String apiVersion = "1.0.0";
   // Select whether to create folders according to the spec’s paths or tags. Values: Paths | Tags
   public static final String FOLDER_STRATEGY = "folderStrategy";
@@ -36,6 +56,61 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
   public static final String REQUEST_PARAMETER_GENERATION = "requestParameterGeneration";
   public static final String REQUEST_PARAMETER_GENERATION_DEFAULT_VALUE = "Example";
 
+  // Select how the collection is written. Values: Mustache (templates) | Streaming (JsonGenerator)
+  public static final String OUTPUT_ENGINE = "outputEngine";
+  public static final String OUTPUT_ENGINE_DEFAULT_VALUE = "Mustache";
+
+  // process the operations of each API in parallel
+  public static final String PARALLEL_PROCESSING = "parallelProcessing";
+  public static final Boolean PARALLEL_PROCESSING_DEFAULT_VALUE = false;
+
+  // write timings and counters of the generation next to the collection
+  public static final String GENERATE_METRICS = "generateMetrics";
+  public static final Boolean GENERATE_METRICS_DEFAULT_VALUE = false;
+  public static final String METRICS_FILE = "postman-metrics.json";
+
+  // content of the originalRequest of the responses. Values: Full (same as the request) | Slim (method and url only)
+  public static final String ORIGINAL_REQUEST_MODE = "originalRequestMode";
+  public static final String ORIGINAL_REQUEST_MODE_DEFAULT_VALUE = "Full";
+
+  // compact JSON: no indentation in the collection and in the request and response bodies (requires the streaming engine)
+  public static final String MINIFY_OUTPUT = "minifyOutput";
+  public static final Boolean MINIFY_OUTPUT_DEFAULT_VALUE = false;
+
+  // gzip-compressed collection: postman.json.gz (requires the streaming engine)
+  public static final String GZIP_OUTPUT = "gzipOutput";
+  public static final Boolean GZIP_OUTPUT_DEFAULT_VALUE = false;
+  public static final String GZIP_EXTENSION = ".gz";
+
+  // one collection file per tag plus a manifest, instead of postman.json (requires the Tags folder strategy and the streaming engine)
+  public static final String SHARDED_OUTPUT = "shardedOutput";
+  public static final Boolean SHARDED_OUTPUT_DEFAULT_VALUE = false;
+
+  // reuse the items of unchanged operations rendered by the previous generation (requires the streaming engine)
+  public static final String INCREMENTAL = "incremental";
+  public static final Boolean INCREMENTAL_DEFAULT_VALUE = false;
+  // fragment cache directory (in the output folder)
+  public static final String FRAGMENT_CACHE_DIR = ".postman-cache";
+
+  // skip the processing of the models (not used by the collection)
+  public static final String LEAN_GENERATION = "leanGeneration";
+  public static final Boolean LEAN_GENERATION_DEFAULT_VALUE = false;
+
+  // operations of the collection: lists separated by | (operations left out are removed from the spec before processing)
+  public static final String INCLUDE_TAGS = "includeTags";
+  public static final String EXCLUDE_TAGS = "excludeTags";
+  // path globs (ie /payments/**)
+  public static final String INCLUDE_PATHS = "includePaths";
+  public static final String EXCLUDE_PATHS = "excludePaths";
+  public static final String INCLUDE_OPERATION_IDS = "includeOperationIds";
+  public static final String EXCLUDE_OPERATION_IDS = "excludeOperationIds";
+  public static final String INCLUDE_METHODS = "includeMethods";
+  public static final String EXCLUDE_METHODS = "excludeMethods";
+
+  // remove the components not referenced by the (selected) operations before processing
+  public static final String PRUNE_COMPONENTS = "pruneComponents";
+  public static final Boolean PRUNE_COMPONENTS_DEFAULT_VALUE = false;
+
   protected String folderStrategy = FOLDER_STRATEGY_DEFAULT_VALUE; // values: Paths | Tags
   protected Boolean pathParamsAsVariables = PATH_PARAMS_AS_VARIABLES_DEFAULT_VALUE; // values: true | false
 
@@ -45,18 +120,42 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
   // Select whether to generate requests/responses from Example or Schema
   protected String requestParameterGeneration = REQUEST_PARAMETER_GENERATION_DEFAULT_VALUE; // values: Example, Schema
 
-  Set<PostmanVariable> variables = new HashSet<>();
+  // Select how the collection is written
+  protected String outputEngine = OUTPUT_ENGINE_DEFAULT_VALUE; // values: Mustache, Streaming
+
+  protected Boolean parallelProcessing = PARALLEL_PROCESSING_DEFAULT_VALUE; // values: true | false
+  // pool used when parallelProcessing is enabled (shared by all the generators unless set)
+  private Executor executor = ForkJoinPool.commonPool();
+
+  protected Boolean generateMetrics = GENERATE_METRICS_DEFAULT_VALUE; // values: true | false
+
+  protected String originalRequestMode = ORIGINAL_REQUEST_MODE_DEFAULT_VALUE; // values: Full, Slim
+
+  protected Boolean minifyOutput = MINIFY_OUTPUT_DEFAULT_VALUE; // values: true | false
+  protected Boolean gzipOutput = GZIP_OUTPUT_DEFAULT_VALUE; // values: true | false
+
+  protected Boolean shardedOutput = SHARDED_OUTPUT_DEFAULT_VALUE; // values: true | false
+
+  protected Boolean incremental = INCREMENTAL_DEFAULT_VALUE; // values: true | false
+
+  protected Boolean leanGeneration = LEAN_GENERATION_DEFAULT_VALUE; // values: true | false
+
+  // selected operations (null when no include/exclude option is set)
+  protected OperationFilter operationFilter = null;
+
+  protected Boolean pruneComponents = PRUNE_COMPONENTS_DEFAULT_VALUE; // values: true | false
+
   String[] postmanVariableNames = null;
   String[] generatedVariableNames = null;
 
   public static final String JSON_ESCAPE_DOUBLE_QUOTE = "\\\"";
   public static final String JSON_ESCAPE_NEW_LINE = "\\n";
 
+  // state of the current generation run (variables, operations, caches, metrics): new context for each run
+  protected GenerationContext context = new GenerationContext();
 
-  // operations grouped by tag
-  protected Map<String, List<CodegenOperation>> codegenOperationsByTag = new HashMap<>();
-  // list of operations
-  protected List<CodegenOperation> codegenOperationsList = new ArrayList<>();
+  // notified with each item as soon as its operation is processed (null: items are only written in the collection)
+  Consumer<PostmanItem> itemConsumer = null;
 
   /**
    * Configures the type of generator.
@@ -86,6 +185,24 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
     cliOptions.add(CliOption.newString(POSTMAN_VARIABLES, "list of Postman variables to create"));
     cliOptions.add(CliOption.newString(GENERATED_VARIABLES, "list of auto-generated variables"));
     cliOptions.add(CliOption.newString(REQUEST_PARAMETER_GENERATION, "whether to generate the request parameters based on the schema or the examples"));
+    cliOptions.add(CliOption.newString(OUTPUT_ENGINE, "whether to render the collection with the Mustache templates or to stream it with a JSON generator"));
+    cliOptions.add(CliOption.newBoolean(PARALLEL_PROCESSING, "whether to process the operations in parallel"));
+    cliOptions.add(CliOption.newBoolean(GENERATE_METRICS, "whether to write the timings and counters of the generation in " + METRICS_FILE));
+    cliOptions.add(CliOption.newString(ORIGINAL_REQUEST_MODE, "whether the originalRequest of the responses is the full request (Full) or the method and url only (Slim)"));
+    cliOptions.add(CliOption.newBoolean(MINIFY_OUTPUT, "whether to write compact JSON, including the request and response bodies"));
+    cliOptions.add(CliOption.newBoolean(GZIP_OUTPUT, "whether to write the collection gzip-compressed (" + GZIP_EXTENSION + " extension)"));
+    cliOptions.add(CliOption.newBoolean(SHARDED_OUTPUT, "whether to write one collection file per tag and " + PostmanShardWriter.MANIFEST_FILE + " instead of a single collection"));
+    cliOptions.add(CliOption.newBoolean(INCREMENTAL, "whether to reuse the items of the unchanged operations from the previous generation"));
+    cliOptions.add(CliOption.newBoolean(LEAN_GENERATION, "whether to skip the processing of the models (not used by the collection)"));
+    cliOptions.add(CliOption.newString(INCLUDE_TAGS, "list of tags (separated by |) of the operations to include"));
+    cliOptions.add(CliOption.newString(EXCLUDE_TAGS, "list of tags (separated by |) of the operations to exclude"));
+    cliOptions.add(CliOption.newString(INCLUDE_PATHS, "list of path globs (separated by |) of the operations to include"));
+    cliOptions.add(CliOption.newString(EXCLUDE_PATHS, "list of path globs (separated by |) of the operations to exclude"));
+    cliOptions.add(CliOption.newString(INCLUDE_OPERATION_IDS, "list of operationIds (separated by |) of the operations to include"));
+    cliOptions.add(CliOption.newString(EXCLUDE_OPERATION_IDS, "list of operationIds (separated by |) of the operations to exclude"));
+    cliOptions.add(CliOption.newString(INCLUDE_METHODS, "list of HTTP methods (separated by |) of the operations to include"));
+    cliOptions.add(CliOption.newString(EXCLUDE_METHODS, "list of HTTP methods (separated by |) of the operations to exclude"));
+    cliOptions.add(CliOption.newBoolean(PRUNE_COMPONENTS, "whether to remove the components not referenced by the operations before processing"));
 
     /*
       Template Location.  This is the location which templates will be read from.  The generator
@@ -114,7 +231,7 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
   @Override
   public void postProcessParameter(CodegenParameter parameter) {
     if(pathParamsAsVariables && parameter.isPathParam) {
-      variables.add(new PostmanVariable()
+      context.getVariables().add(new PostmanVariable()
               .addName(parameter.paramName)
               .addType(mapToPostmanType(parameter.dataType))
               .addDefaultValue(parameter.defaultValue));
@@ -123,15 +240,65 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
 
   @Override
   public void preprocessOpenAPI(OpenAPI openAPI) {
+    if(operationFilter != null) {
+      // before any processing: the operations left out are never resolved, serialized or rendered
+      int filteredOperations = operationFilter.apply(openAPI);
+      getMetrics().setCounter("filteredOperations", filteredOperations);
+      LOGGER.info("Operation filters: {} operations left out", filteredOperations);
+    }
+    if(pruneComponents) {
+      // after the filters: components of the selected operations only
+      ComponentPruner componentPruner = new ComponentPruner();
+      int prunedComponents = componentPruner.prune(openAPI);
+      getMetrics().setCounter("prunedComponents", prunedComponents);
+      LOGGER.info("Pruned components: {} {}", prunedComponents, componentPruner.getPruned());
+    }
     super.preprocessOpenAPI(openAPI);
     this.additionalProperties().put("formattedDescription", formatDescription(openAPI.getInfo().getDescription()));
   }
 
+  @Override
+  public void processOpenAPI(OpenAPI openAPI) {
+    super.processOpenAPI(openAPI);
+    getMetrics().startPhase("models");
+    // components/schemas are processed next, then the operations
+    context.setModelStage(true);
+  }
+
+  @Override
+  public CodegenModel fromModel(String name, Schema schema) {
+    if(leanGeneration && context.isModelStage()) {
+      // name only: the collection is built from the operations (body parameters still get their full model)
+      CodegenModel codegenModel = new CodegenModel();
+      codegenModel.name = name;
+      codegenModel.schemaName = name;
+      codegenModel.classname = toModelName(name);
+      return codegenModel;
+    }
+    return super.fromModel(name, schema);
+  }
+
+  @Override
+  public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+    getMetrics().startPhase("operations");
+    context.setModelStage(false);
+    CodegenOperation codegenOperation = super.fromOperation(path, httpMethod, operation, servers);
+    // from the operation: the path is converted to the Postman notation (:param) when the operation is processed
+    Schema<?> requestBodySchema = getRequestBodySchema(operation);
+    if(requestBodySchema != null) {
+      codegenOperation.vendorExtensions.put("postmanRequestBodySchema", requestBodySchema);
+    }
+    if(incremental) {
+      codegenOperation.vendorExtensions.put("postmanItemHash", getOperationHasher().hash(path, httpMethod, operation));
+    }
+    return codegenOperation;
+  }
+
   @Override
   public List<CodegenServerVariable> fromServerVariables(Map<String, ServerVariable> variables) {
 
     if(variables != null){
-      variables.forEach((key, value) -> this.variables.add(new PostmanVariable()
+      variables.forEach((key, value) -> context.getVariables().add(new PostmanVariable()
               .addName(key)
               .addType("string")
               .addDefaultValue(value.getDefault())));
@@ -142,6 +309,9 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
 
   @Override
   public void processOpts() {
+    // new run: nothing left from a previous generation with this instance
+    context = newGenerationContext();
+    getMetrics().startPhase("preprocess");
     super.processOpts();
 
     if(additionalProperties().containsKey(FOLDER_STRATEGY)) {
@@ -164,16 +334,95 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
       extractGeneratedVariableNames(additionalProperties().get(GENERATED_VARIABLES).toString());
     }
 
-    supportingFiles.add(
-            new SupportingFile("postman.mustache", "", postmanFile)
-    );
+    if(additionalProperties().containsKey(OUTPUT_ENGINE)) {
+      outputEngine = additionalProperties().get(OUTPUT_ENGINE).toString();
+    }
+
+    if(additionalProperties().containsKey(PARALLEL_PROCESSING)) {
+      parallelProcessing = Boolean.parseBoolean(additionalProperties().get(PARALLEL_PROCESSING).toString());
+    }
+
+    if(additionalProperties().containsKey(GENERATE_METRICS)) {
+      generateMetrics = Boolean.parseBoolean(additionalProperties().get(GENERATE_METRICS).toString());
+    }
+
+    if(additionalProperties().containsKey(ORIGINAL_REQUEST_MODE)) {
+      originalRequestMode = additionalProperties().get(ORIGINAL_REQUEST_MODE).toString();
+    }
+    this.additionalProperties().put("slimOriginalRequest", isSlimOriginalRequest());
+    // request rendered once, reused for the originalRequest of its responses (item.mustache)
+    this.additionalProperties().put("sharedRequest", new SharedRequestLambda());
+
+    if(additionalProperties().containsKey(MINIFY_OUTPUT)) {
+      minifyOutput = Boolean.parseBoolean(additionalProperties().get(MINIFY_OUTPUT).toString());
+    }
+    if(additionalProperties().containsKey(GZIP_OUTPUT)) {
+      gzipOutput = Boolean.parseBoolean(additionalProperties().get(GZIP_OUTPUT).toString());
+    }
+    if((minifyOutput || gzipOutput) && !isStreamingOutput()) {
+      // the templates write indented JSON to postman.json
+      LOGGER.warn("{} and {} require the Streaming {}: ignoring {}", MINIFY_OUTPUT, GZIP_OUTPUT, OUTPUT_ENGINE, outputEngine);
+      outputEngine = "Streaming";
+    }
+    // parsed values for PostmanCollectionWriter
+    this.additionalProperties().put(MINIFY_OUTPUT, minifyOutput);
+    this.additionalProperties().put(GZIP_OUTPUT, gzipOutput);
+
+    if(additionalProperties().containsKey(SHARDED_OUTPUT)) {
+      shardedOutput = Boolean.parseBoolean(additionalProperties().get(SHARDED_OUTPUT).toString());
+    }
+
+    if(shardedOutput) {
+      // shards are the tag folders, written by PostmanCollectionWriter
+      if(!folderStrategy.equalsIgnoreCase("tags")) {
+        LOGGER.warn("{} requires the Tags {}: ignoring {}", SHARDED_OUTPUT, FOLDER_STRATEGY, folderStrategy);
+        folderStrategy = "Tags";
+      }
+      if(!isStreamingOutput()) {
+        LOGGER.warn("{} requires the Streaming {}: ignoring {}", SHARDED_OUTPUT, OUTPUT_ENGINE, outputEngine);
+        outputEngine = "Streaming";
+      }
+    }
+
+    if(additionalProperties().containsKey(INCREMENTAL)) {
+      incremental = Boolean.parseBoolean(additionalProperties().get(INCREMENTAL).toString());
+    }
+    if(additionalProperties().containsKey(LEAN_GENERATION)) {
+      leanGeneration = Boolean.parseBoolean(additionalProperties().get(LEAN_GENERATION).toString());
+    }
+
+    OperationFilter filter = new OperationFilter(getStringOption(INCLUDE_TAGS), getStringOption(EXCLUDE_TAGS),
+            getStringOption(INCLUDE_PATHS), getStringOption(EXCLUDE_PATHS),
+            getStringOption(INCLUDE_OPERATION_IDS), getStringOption(EXCLUDE_OPERATION_IDS),
+            getStringOption(INCLUDE_METHODS), getStringOption(EXCLUDE_METHODS));
+    operationFilter = filter.isEnabled() ? filter : null;
 
-    super.vendorExtensions().put("variables", variables);
+    if(additionalProperties().containsKey(PRUNE_COMPONENTS)) {
+      pruneComponents = Boolean.parseBoolean(additionalProperties().get(PRUNE_COMPONENTS).toString());
+    }
+
+    if(incremental) {
+      if(!isStreamingOutput()) {
+        // cached items are inserted by PostmanCollectionWriter
+        LOGGER.warn("{} requires the Streaming {}: ignoring {}", INCREMENTAL, OUTPUT_ENGINE, outputEngine);
+        outputEngine = "Streaming";
+      }
+      context.setFragmentCache(new FragmentCache(Paths.get(outputFolder(), FRAGMENT_CACHE_DIR)).load());
+    }
+
+    if(!isStreamingOutput()) {
+      // with the streaming engine the file is written in postProcessSupportingFileData
+      supportingFiles.add(
+              new SupportingFile("postman.mustache", "", postmanFile)
+      );
+    }
+
+    super.vendorExtensions().put("variables", context.getVariables());
 
     if(folderStrategy.equalsIgnoreCase("tags")) {
-      this.additionalProperties().put("codegenOperationsByTag", codegenOperationsByTag);
+      this.additionalProperties().put("codegenOperationsByTag", context.getCodegenOperationsByTag());
     } else {
-      this.additionalProperties().put("codegenOperationsList", codegenOperationsList);
+      this.additionalProperties().put("codegenOperationsList", context.getCodegenOperationsList());
     }
 
   }
@@ -183,122 +432,399 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
    */
   @Override
   public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+    getMetrics().startPhase("requests");
     OperationsMap results = super.postProcessOperationsWithModels(objs, allModels);
 
     OperationMap ops = results.getOperations();
     List<CodegenOperation> opList = ops.getOperation();
 
-    for(CodegenOperation codegenOperation : opList) {
+    if(parallelProcessing && opList.size() > 1) {
+      // build the requests in parallel, then collect them in the original order
+      List<CompletableFuture<Set<String>>> futures = opList.stream()
+              .map(codegenOperation -> CompletableFuture.supplyAsync(() -> processOperation(codegenOperation), executor))
+              .collect(Collectors.toList());
 
-      // use Postman notation for path parameter
-      codegenOperation.path = replacesBracesInPath(codegenOperation.path);
+      for(int i = 0; i < opList.size(); i++) {
+        collectOperation(opList.get(i), join(futures.get(i)));
+      }
+    } else {
+      for(CodegenOperation codegenOperation : opList) {
+        collectOperation(codegenOperation, processOperation(codegenOperation));
+      }
+    }
 
-      if(pathParamsAsVariables) {
-        // set value of path parameter with corresponding env variable
-        for(CodegenParameter codegenParameter : codegenOperation.pathParams) {
-          codegenParameter.defaultValue = "{{" + codegenParameter.paramName + "}}";
-        }
+    return results;
+  }
+
+  /**
+   * Build the Postman requests of the operation (can run concurrently: shared state is not modified)
+   * @return names of the Postman variables found in the request bodies
+   */
+  Set<String> processOperation(CodegenOperation codegenOperation) {
+    Set<String> matchedVariables = new HashSet<>();
+
+    // use Postman notation for path parameter
+    codegenOperation.path = replacesBracesInPath(codegenOperation.path);
+
+    if(pathParamsAsVariables) {
+      // set value of path parameter with corresponding env variable
+      for(CodegenParameter codegenParameter : codegenOperation.pathParams) {
+        codegenParameter.defaultValue = "{{" + codegenParameter.paramName + "}}";
       }
+    }
 
-      // ad-hoc customisation for specific path parameters:
-      // companyId: set value as YOUR_COMPANY_ACCOUNT env variable
-      // merchantId: set value as YOUR_MERCHANT_ACCOUNT env variable
-      if(codegenOperation.path.contains(":companyId") || codegenOperation.path.contains(":merchantId")) {
-        for(CodegenParameter codegenParameter : codegenOperation.pathParams) {
-          if(codegenParameter.paramName.equalsIgnoreCase("companyId")) {
-            // set default value for `companyId` path parameter
-            codegenParameter.defaultValue = "{{YOUR_COMPANY_ACCOUNT}}";
-          }
-          if(codegenParameter.paramName.equalsIgnoreCase("merchantId")) {
-            // set default value for `merchantId` path parameter
-            codegenParameter.defaultValue = "{{YOUR_MERCHANT_ACCOUNT}}";
-          }
+    // ad-hoc customisation for specific path parameters:
+    // companyId: set value as YOUR_COMPANY_ACCOUNT env variable
+    // merchantId: set value as YOUR_MERCHANT_ACCOUNT env variable
+    if(codegenOperation.path.contains(":companyId") || codegenOperation.path.contains(":merchantId")) {
+      for(CodegenParameter codegenParameter : codegenOperation.pathParams) {
+        if(codegenParameter.paramName.equalsIgnoreCase("companyId")) {
+          // set default value for `companyId` path parameter
+          codegenParameter.defaultValue = "{{YOUR_COMPANY_ACCOUNT}}";
+        }
+        if(codegenParameter.paramName.equalsIgnoreCase("merchantId")) {
+          // set default value for `merchantId` path parameter
+          codegenParameter.defaultValue = "{{YOUR_MERCHANT_ACCOUNT}}";
         }
       }
+    }
 
-      codegenOperation.summary = getSummary(codegenOperation);
-
-      // request headers
-      if(codegenOperation.produces != null && codegenOperation.produces.get(0) != null) {
-        // produces mediaType as `Accept` header (use first mediaType only)
-        String mediaType = codegenOperation.produces.get(0).get("mediaType");
-        CodegenParameter acceptHeader = new CodegenParameter();
-        acceptHeader.baseName = "Accept";
-        acceptHeader.paramName = "Accept";
-        CodegenProperty schema = new CodegenProperty();
-        schema.defaultValue = mediaType;
-        acceptHeader.setSchema(schema);
-        codegenOperation.headerParams.add(0, acceptHeader);
+    codegenOperation.summary = getSummary(codegenOperation);
+
+    // request headers
+    if(codegenOperation.produces != null && codegenOperation.produces.get(0) != null) {
+      // produces mediaType as `Accept` header (use first mediaType only)
+      String mediaType = codegenOperation.produces.get(0).get("mediaType");
+      CodegenParameter acceptHeader = new CodegenParameter();
+      acceptHeader.baseName = "Accept";
+      acceptHeader.paramName = "Accept";
+      CodegenProperty schema = new CodegenProperty();
+      schema.defaultValue = mediaType;
+      acceptHeader.setSchema(schema);
+      codegenOperation.headerParams.add(0, acceptHeader);
+    }
+
+    if(codegenOperation.consumes != null && codegenOperation.consumes.get(0) != null) {
+      // consumes mediaType as `Content-Type` header (use first mediaType only)
+      String mediaType = codegenOperation.consumes.get(0).get("mediaType");
+      CodegenParameter contentTypeHeader = new CodegenParameter();
+      contentTypeHeader.baseName = "Content-Type";
+      contentTypeHeader.paramName = "Content-Type";
+      CodegenProperty schema = new CodegenProperty();
+      schema.defaultValue = mediaType;
+      contentTypeHeader.setSchema(schema);
+      codegenOperation.headerParams.add(0, contentTypeHeader);
+    }
+
+    // build pathSegments
+    String[] pathSegments = codegenOperation.path.substring(1).split("/");
+    codegenOperation.vendorExtensions.put("pathSegments", pathSegments);
+    codegenOperation.responses.forEach(r -> r.vendorExtensions.put("pathSegments", pathSegments));
+
+    FragmentCache fragmentCache = context.getFragmentCache();
+    String hash = (String) codegenOperation.vendorExtensions.get("postmanItemHash");
+    if(fragmentCache != null && hash != null) {
+      FragmentCache.Fragment fragment = fragmentCache.get(hash);
+      if(fragment != null) {
+        // unchanged operation: skip building (and serializing the examples of) the requests
+        codegenOperation.vendorExtensions.put(PostmanCollectionWriter.ITEM_FRAGMENT, fragment.getJson());
+        codegenOperation.vendorExtensions.put("postmanRequestCount", fragment.getRequests());
+        codegenOperation.vendorExtensions.put("postmanResponseCount", fragment.getResponses());
+        return new HashSet<>(fragment.getVariables());
       }
+    }
 
-      if(codegenOperation.consumes != null && codegenOperation.consumes.get(0) != null) {
-        // consumes mediaType as `Content-Type` header (use first mediaType only)
-        String mediaType = codegenOperation.consumes.get(0).get("mediaType");
-        CodegenParameter contentTypeHeader = new CodegenParameter();
-        contentTypeHeader.baseName = "Content-Type";
-        contentTypeHeader.paramName = "Content-Type";
-        CodegenProperty schema = new CodegenProperty();
-        schema.defaultValue = mediaType;
-        contentTypeHeader.setSchema(schema);
-        codegenOperation.headerParams.add(0, contentTypeHeader);
+    List<PostmanRequestItem> postmanRequests = getPostmanRequests(codegenOperation);
+    if(postmanRequests != null) {
+      if(isCreatePostmanVariables() || isGeneratedVariables()) {
+        postmanRequests = substituteVariables(postmanRequests, matchedVariables);
+      }
+      if(minifyOutput) {
+        minifyBodies(postmanRequests);
       }
+      codegenOperation.vendorExtensions.put("postmanRequests", postmanRequests);
+    }
+    codegenOperation.vendorExtensions.put("postmanRequestCount", postmanRequests != null ? postmanRequests.size() : 0);
+    codegenOperation.vendorExtensions.put("postmanResponseCount", countResponses(postmanRequests));
+
+    if(fragmentCache != null && hash != null) {
+      String fragment = PostmanCollectionWriter.renderItem(codegenOperation, additionalProperties());
+      fragmentCache.put(hash, fragment, matchedVariables,
+              (int) codegenOperation.vendorExtensions.get("postmanRequestCount"),
+              (int) codegenOperation.vendorExtensions.get("postmanResponseCount"));
+      codegenOperation.vendorExtensions.put(PostmanCollectionWriter.ITEM_FRAGMENT, fragment);
+    }
 
-      // build pathSegments
-      String[] pathSegments = codegenOperation.path.substring(1).split("/");
-      codegenOperation.vendorExtensions.put("pathSegments", pathSegments);
-      codegenOperation.responses.forEach(r -> r.vendorExtensions.put("pathSegments", pathSegments));
+    return matchedVariables;
+  }
 
-      List<PostmanRequestItem> postmanRequests = getPostmanRequests(codegenOperation);
-      if(postmanRequests != null) {
-        if(isCreatePostmanVariables()) {
-          postmanRequests = createPostmanVariables(postmanRequests);
-        }
-        if(isGeneratedVariables()) {
-          postmanRequests = createGeneratedVariables(postmanRequests);
-        }
-        codegenOperation.vendorExtensions.put("postmanRequests", postmanRequests);
+  // responses of all the requests
+  private int countResponses(List<PostmanRequestItem> postmanRequests) {
+    int responses = 0;
+    if(postmanRequests != null) {
+      for(PostmanRequestItem postmanRequest : postmanRequests) {
+        responses += postmanRequest.getResponses() != null ? postmanRequest.getResponses().size() : 0;
       }
+    }
+    return responses;
+  }
 
-      if(folderStrategy.equalsIgnoreCase("tags")) {
-        addToMap(codegenOperation);
-      } else {
-        addToList(codegenOperation);
+  // compact request and response bodies
+  void minifyBodies(List<PostmanRequestItem> postmanRequests) {
+    for(PostmanRequestItem postmanRequest : postmanRequests) {
+      postmanRequest.setBody(ExampleJsonHelper.minify(postmanRequest.getBody()));
+      if(postmanRequest.getResponses() != null) {
+        postmanRequest.getResponses().forEach(r -> r.setBody(ExampleJsonHelper.minify(r.getBody())));
       }
+    }
+  }
 
+  // merge the result of processOperation (on the calling thread, in the order of the operations)
+  void collectOperation(CodegenOperation codegenOperation, Set<String> matchedVariables) {
+    registerVariables(matchedVariables);
+    addToFolder(codegenOperation);
+    if(itemConsumer != null) {
+      publishItem(codegenOperation);
     }
 
-    return results;
+    // counted when processed, or stored with the reused fragment
+    getMetrics().addOperation((int) codegenOperation.vendorExtensions.getOrDefault("postmanRequestCount", 0),
+            (int) codegenOperation.vendorExtensions.getOrDefault("postmanResponseCount", 0));
   }
 
+  // render the item once: the collection writes the same fragment
+  @SuppressWarnings("unchecked")
+  void publishItem(CodegenOperation codegenOperation) {
+    String json = (String) codegenOperation.vendorExtensions.get(PostmanCollectionWriter.ITEM_FRAGMENT);
+    if(json == null) {
+      json = PostmanCollectionWriter.renderItem(codegenOperation, additionalProperties());
+      codegenOperation.vendorExtensions.put(PostmanCollectionWriter.ITEM_FRAGMENT, json);
+    }
+    String folder = folderStrategy.equalsIgnoreCase("tags") ? getTagFolder(codegenOperation) : null;
+    List<PostmanRequestItem> postmanRequests = (List<PostmanRequestItem>) codegenOperation.vendorExtensions.get("postmanRequests");
 
-  void addToMap(CodegenOperation codegenOperation){
+    itemConsumer.accept(new PostmanItem(folder, codegenOperation, postmanRequests, json));
+  }
 
-    String key;
-    if(codegenOperation.tags == null || codegenOperation.tags.isEmpty()) {
-      key = "default";
+  void addToFolder(CodegenOperation codegenOperation) {
+    if(folderStrategy.equalsIgnoreCase("tags")) {
+      addToMap(codegenOperation);
     } else {
-      key = codegenOperation.tags.get(0).getName();
+      addToList(codegenOperation);
+    }
+  }
+
+  private Set<String> join(CompletableFuture<Set<String>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if(e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private SchemaExampleSynthesizer getSchemaExampleSynthesizer() {
+    return context.getSchemaExampleSynthesizer(() -> new SchemaExampleSynthesizer(this.openAPI));
+  }
+
+  private OperationHasher getOperationHasher() {
+    return context.getOperationHasher(() -> new OperationHasher(this.openAPI, getOptionsFingerprint()));
+  }
+
+  // options changing the rendered items: a different value invalidates the cached fragments
+  String getOptionsFingerprint() {
+    return String.join("|",
+            String.valueOf(FragmentCache.VERSION),
+            String.valueOf(PostmanV2Generator.class.getPackage().getImplementationVersion()),
+            String.valueOf(pathParamsAsVariables),
+            requestParameterGeneration,
+            originalRequestMode,
+            String.valueOf(minifyOutput),
+            postmanVariableNames != null ? String.join(",", postmanVariableNames) : "",
+            generatedVariableNames != null ? String.join(",", generatedVariableNames) : "");
+  }
+
+  /**
+   * Pool building the requests and writing the shards when parallelProcessing is enabled (default: common pool)
+   * @param executor Executor shared with other generators (not shut down by the generator)
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public void postProcess() {
+    getMetrics().endPhase();
+    if(generateMetrics) {
+      writeMetrics();
+    }
+
+    super.postProcess();
+  }
+
+
+  @Override
+  public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+    getMetrics().startPhase("render");
+    Map<String, Object> bundle = super.postProcessSupportingFileData(objs);
+
+    // all operations are processed: finalize folders before rendering
+    sortOperations();
+
+    ExampleCache exampleCache = context.getExampleCache();
+    SchemaExampleSynthesizer schemaExampleSynthesizer = context.getSchemaExampleSynthesizer();
+    LOGGER.info("Component examples: {} serialized, {} cache hits", exampleCache.getMisses(), exampleCache.getHits());
+    if(schemaExampleSynthesizer != null) {
+      LOGGER.info("Schema examples: {} synthesized, {} cache hits", schemaExampleSynthesizer.getMisses(), schemaExampleSynthesizer.getHits());
+    }
+
+    if(shardedOutput) {
+      writeShards(bundle);
+    } else if(isStreamingOutput()) {
+      writeCollection(bundle);
     }
 
-    List<CodegenOperation> list = codegenOperationsByTag.get(key);
+    if(context.getFragmentCache() != null) {
+      saveFragmentCache();
+    }
+
+    return bundle;
+  }
+
+  // write the collection with PostmanCollectionWriter (instead of rendering postman.mustache)
+  void writeCollection(Map<String, Object> bundle) {
+    Path path = getCollectionPath();
+
+    try {
+      Files.createDirectories(path.toAbsolutePath().getParent());
+      try (OutputStream outputStream = PostmanCollectionWriter.newOutputStream(Files.newOutputStream(path), gzipOutput)) {
+        new PostmanCollectionWriter(bundle).write(outputStream);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Could not write Postman collection " + path, e);
+    }
+    LOGGER.info("Written {}", path);
+  }
+
+  // write the collection of each tag (in parallel) and the manifest
+  void writeShards(Map<String, Object> bundle) {
+    Path outputDir = Paths.get(outputFolder());
+    List<PostmanShardWriter.Shard> shards;
+    try {
+      shards = new PostmanShardWriter(outputDir, bundle).write(context.getCodegenOperationsByTag(), executor);
+      context.setShards(shards);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not write Postman collection shards in " + outputDir, e);
+    }
+    LOGGER.info("Written {} shards and {}", shards.size(), outputDir.resolve(PostmanShardWriter.MANIFEST_FILE));
+  }
+
+  // keep the fragments of this generation only
+  void saveFragmentCache() {
+    FragmentCache fragmentCache = context.getFragmentCache();
+    try {
+      fragmentCache.save();
+    } catch (IOException e) {
+      throw new RuntimeException("Could not save fragment cache " + FRAGMENT_CACHE_DIR, e);
+    }
+    LOGGER.info("Items: {} reused, {} rebuilt, {} stale fragments removed",
+            fragmentCache.getReused(), fragmentCache.getRebuilt(), fragmentCache.getRemoved());
+  }
+
+  // write postman-metrics.json next to the collection
+  void writeMetrics() {
+    Path collection = getCollectionPath();
+    Path path = Paths.get(outputFolder(), METRICS_FILE);
+    GenerationMetrics metrics = collectMetrics();
+    List<PostmanShardWriter.Shard> shards = context.getShards();
+
+    try {
+      if(shards != null) {
+        metrics.setCounter("shards", shards.size());
+        metrics.setCounter("outputBytes", shards.stream().mapToLong(PostmanShardWriter.Shard::getBytes).sum());
+      } else {
+        metrics.setCounter("outputBytes", Files.exists(collection) ? Files.size(collection) : 0);
+      }
+      metrics.write(path);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not write metrics " + path, e);
+    }
+    LOGGER.info("Written {}", path);
+  }
 
-    if(list == null) {
-      list = new ArrayList<>();
+  // cache counters of the generation
+  GenerationMetrics collectMetrics() {
+    GenerationMetrics metrics = getMetrics();
+    ExampleCache exampleCache = context.getExampleCache();
+    SchemaExampleSynthesizer schemaExampleSynthesizer = context.getSchemaExampleSynthesizer();
+    FragmentCache fragmentCache = context.getFragmentCache();
+
+    metrics.setCounter("componentExamples", exampleCache.getMisses());
+    metrics.setCounter("exampleCacheHits", exampleCache.getHits());
+    if(schemaExampleSynthesizer != null) {
+      metrics.setCounter("schemaExamples", schemaExampleSynthesizer.getMisses());
+      metrics.setCounter("schemaExampleCacheHits", schemaExampleSynthesizer.getHits());
+    }
+    if(fragmentCache != null) {
+      metrics.setCounter("reusedItems", fragmentCache.getReused());
+      metrics.setCounter("rebuiltItems", fragmentCache.getRebuilt());
     }
-    list.add(codegenOperation);
+    return metrics;
+  }
+
+  // value of a string option, null when not set
+  private String getStringOption(String name) {
+    Object value = additionalProperties().get(name);
+    return value != null ? value.toString() : null;
+  }
+
+  // postman.json (or postman.json.gz)
+  Path getCollectionPath() {
+    return Paths.get(outputFolder(), gzipOutput ? postmanFile + GZIP_EXTENSION : postmanFile);
+  }
+
+  // state of a new generation run
+  GenerationContext newGenerationContext() {
+    return new GenerationContext();
+  }
+
+  GenerationMetrics getMetrics() {
+    return context.getMetrics();
+  }
+
+  boolean isSlimOriginalRequest() {
+    return originalRequestMode.equalsIgnoreCase("slim");
+  }
 
-    codegenOperationsByTag.put(key, list);
+  boolean isStreamingOutput() {
+    return outputEngine.equalsIgnoreCase("streaming");
+  }
 
-    // sort requests by path
-    list.sort(Comparator.comparing(obj -> obj.path));
+  void addToMap(CodegenOperation codegenOperation){
+    // requests are sorted once all operations are collected (see sortOperations)
+    context.addOperation(getTagFolder(codegenOperation), codegenOperation);
+  }
 
+  // folder of the operation with the Tags strategy: its first tag
+  String getTagFolder(CodegenOperation codegenOperation) {
+    if(codegenOperation.tags == null || codegenOperation.tags.isEmpty()) {
+      return "default";
+    }
+    return codegenOperation.tags.get(0).getName();
   }
 
   void addToList(CodegenOperation codegenOperation) {
-    codegenOperationsList.add(codegenOperation);
+    context.getCodegenOperationsList().add(codegenOperation);
+  }
+
+  // sort requests by path in each folder (stable sort: same path keeps the processing order)
+  void sortOperations() {
+    Comparator<CodegenOperation> byPath = Comparator.comparing(obj -> obj.path);
 
-    // sort requests by path
-    codegenOperationsList.sort(Comparator.comparing(obj -> obj.path));
+    context.getCodegenOperationsByTag().values().forEach(list -> list.sort(byPath));
+    context.getCodegenOperationsList().sort(byPath);
   }
 
   List<PostmanResponse> getResponseExamples(CodegenResponse codegenResponse, String message) {
@@ -312,14 +838,15 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
         String key = entry.getKey();
         String ref = entry.getValue().get$ref();
 
-        String response;
+        // serialized only if the response is added to a request
+        Supplier<String> response;
         if (ref != null) {
           // get example by $ref
-          Example example = this.openAPI.getComponents().getExamples().get(extractExampleByName(ref));
-          response = new ExampleJsonHelper().getJsonFromExample(example);
+          response = () -> context.getExampleCache().get(extractExampleByName(ref), this::getComponentExample).getBody();
         } else {
           // get inline example
-          response = new ExampleJsonHelper().getJsonFromExample(entry.getValue());
+          Example example = entry.getValue();
+          response = () -> context.getExampleJsonHelper().getJsonFromExample(example);
         }
         postmanResponses.add(new PostmanResponse(key, codegenResponse, message, response));
       }
@@ -337,12 +864,12 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
 
     List<PostmanRequestItem> items = new ArrayList<>();
 
+    long exampleStartNanos = System.nanoTime();
     if (codegenOperation.getHasBodyParam()) {
       // operation with bodyParam
       if (requestParameterGeneration.equalsIgnoreCase("Schema")) {
         // get from schema
-        items.add(new PostmanRequestItem(codegenOperation.summary, new ExampleJsonHelper().getJsonFromSchema(codegenOperation.bodyParam),
-                codegenOperation.httpMethod));
+        items.add(new PostmanRequestItem(codegenOperation.summary, getJsonFromSchema(codegenOperation), codegenOperation.httpMethod));
       } else {
         // get from examples
         if (codegenOperation.bodyParam.getContent().get("application/json") != null &&
@@ -355,28 +882,28 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
             String exampleName;
             if (exampleRef != null) {
               // get example by $ref
-              Example example = this.openAPI.getComponents().getExamples().get(extractExampleByName(exampleRef));
-              exampleAsString = new ExampleJsonHelper().getJsonFromExample(example);
+              ExampleCache.CachedExample example = context.getExampleCache().get(extractExampleByName(exampleRef), this::getComponentExample);
+              exampleAsString = example.getBody();
               exampleName = example.getSummary();
             } else {
               // get inline example
-              exampleAsString = new ExampleJsonHelper().getJsonFromExample(entry.getValue());
+              exampleAsString = context.getExampleJsonHelper().getJsonFromExample(entry.getValue());
               exampleName = entry.getValue().getSummary();
             }
             items.add(new PostmanRequestItem(exampleName, exampleAsString, entry.getKey(), codegenOperation.httpMethod));
           }
         } else if (codegenOperation.bodyParam.example != null) {
           // find in bodyParam example
-          items.add(new PostmanRequestItem(codegenOperation.summary, new ExampleJsonHelper().formatJson(codegenOperation.bodyParam.example),
+          items.add(new PostmanRequestItem(codegenOperation.summary, context.getExampleJsonHelper().formatJson(codegenOperation.bodyParam.example),
                   codegenOperation.httpMethod));
         } else if (codegenOperation.bodyParam.getSchema() != null) {
           // find in schema example
-          String exampleAsString = new ExampleJsonHelper().formatJson(codegenOperation.bodyParam.getSchema().getExample());
+          String exampleAsString = context.getExampleJsonHelper().formatJson(codegenOperation.bodyParam.getSchema().getExample());
           items.add(new PostmanRequestItem(codegenOperation.summary, exampleAsString, codegenOperation.httpMethod));
         } else {
           // example not found
           // get from schema
-          items.add(new PostmanRequestItem(codegenOperation.summary, new ExampleJsonHelper().getJsonFromSchema(codegenOperation.bodyParam), codegenOperation.httpMethod));
+          items.add(new PostmanRequestItem(codegenOperation.summary, getJsonFromSchema(codegenOperation), codegenOperation.httpMethod));
 
         }
       }
@@ -385,6 +912,7 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
       PostmanRequestItem postmanRequestItem = new PostmanRequestItem(codegenOperation.summary, "", codegenOperation.httpMethod);
       items.add(postmanRequestItem);
     }
+    getMetrics().addExampleSerialization(System.nanoTime() - exampleStartNanos);
 
     // Grabbing responses
     List<CodegenResponse> responses = codegenOperation.responses;
@@ -394,32 +922,40 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
       allPostmanResponses.addAll(postmanResponses);
     }
 
+    // index response examples by id (example name)
+    Map<String, List<PostmanResponse>> responsesById = new HashMap<>();
+    for (PostmanResponse postmanResponse : allPostmanResponses) {
+      responsesById.computeIfAbsent(postmanResponse.getId(), k -> new ArrayList<>()).add(postmanResponse);
+    }
+
     // Adding responses to corresponding requests
     for (PostmanRequestItem item : items) {
-      List<PostmanResponse> postmanResponses = allPostmanResponses.stream().filter(r -> Objects.equals(r.getId(), item.getId())).collect(Collectors.toList());
-      if (!postmanResponses.isEmpty()) {
+      List<PostmanResponse> postmanResponses = item.getId() != null ? responsesById.get(item.getId()) : null;
+      if (postmanResponses != null) {
         postmanResponses.forEach(r -> r.setOriginalRequest(item));
         item.addResponses(postmanResponses);
-      } else {
-        // no matching response example
-        if (item.getHttpMethod() != null && item.getHttpMethod().equals("GET")) {
-          // in case of GET use first response example
-          if (allPostmanResponses.size() > 0) {
-            PostmanResponse postmanResponse = allPostmanResponses.stream()
-                    .findFirst()
-                    .orElse(null);
-
-            if(postmanResponse != null) {
-              postmanResponse.setOriginalRequest(item);
-              item.addResponse(postmanResponse);
-            }
-          }
-        }
+      } else if (isGetRequest(item) && !allPostmanResponses.isEmpty()) {
+        // no matching response example (or request without id): in case of GET use first response example
+        PostmanResponse postmanResponse = allPostmanResponses.get(0);
+        postmanResponse.setOriginalRequest(item);
+        item.addResponse(postmanResponse);
       }
     }
+
+    // serialize the responses in use while processing the operation (response examples not matched are never serialized)
+    exampleStartNanos = System.nanoTime();
+    allPostmanResponses.stream()
+            .filter(r -> r.getOriginalRequest() != null)
+            .forEach(PostmanResponse::getBody);
+    getMetrics().addExampleSerialization(System.nanoTime() - exampleStartNanos);
+
     return items;
   }
 
+  private boolean isGetRequest(PostmanRequestItem item) {
+    return item.getHttpMethod() != null && item.getHttpMethod().equals("GET");
+  }
+
   // split, trim
   void extractPostmanVariableNames(String postmanVariablesCsv) {
     postmanVariableNames = postmanVariablesCsv.split("-");
@@ -436,35 +972,31 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
   boolean isCreatePostmanVariables() {
     return postmanVariableNames != null;
   }
-  List<PostmanRequestItem> createPostmanVariables(List<PostmanRequestItem> postmanRequests) {
+  // replace postmanVariables with {{VAR}} and generatedVariables with {{$guid}} (single scan of each body)
+  List<PostmanRequestItem> substituteVariables(List<PostmanRequestItem> postmanRequests, Set<String> matchedVariables) {
+    VariableSubstitution variableSubstitution = getVariableSubstitution();
 
-    for (String var : postmanVariableNames) {
-      for(PostmanRequestItem requestItem : postmanRequests) {
-        if (requestItem.getBody().indexOf(var) > 0) {
-
-          requestItem.setBody(requestItem.getBody().replace(var, "{{" + var + "}}"));
-
-          variables.add(new PostmanVariable()
-                  .addName(var)
-                  .addType("string")
-                  .addDefaultValue(""));
-        }
-      }
+    for(PostmanRequestItem requestItem : postmanRequests) {
+      requestItem.setBody(variableSubstitution.substitute(requestItem.getBody(), matchedVariables));
     }
 
     return postmanRequests;
   }
 
-  List<PostmanRequestItem> createGeneratedVariables(List<PostmanRequestItem> postmanRequests) {
-
-    for (String var : generatedVariableNames) {
-      for(PostmanRequestItem requestItem : postmanRequests) {
-        requestItem.setBody(requestItem.getBody().replace(var, "{{$guid}}"));
-      }
+  // define the Postman variables found in the request bodies
+  void registerVariables(Set<String> matchedVariables) {
+    for(String var : matchedVariables) {
+      context.getVariables().add(new PostmanVariable()
+              .addName(var)
+              .addType("string")
+              .addDefaultValue(""));
     }
+  }
 
-    return postmanRequests;
+  private VariableSubstitution getVariableSubstitution() {
+    return context.getVariableSubstitution(() -> new VariableSubstitution(postmanVariableNames, generatedVariableNames));
   }
+
   /**
    * Returns human-friendly help for the generator.  Provide the consumer with help
    * tips, parameters here
@@ -557,6 +1089,43 @@ public class PostmanV2Generator extends DefaultCodegen implements CodegenConfig
     return ret;
   }
 
+  // request body synthesized from the schema of the operation (top-level properties of the body parameter when not found)
+  String getJsonFromSchema(CodegenOperation codegenOperation) {
+    Schema<?> schema = (Schema<?>) codegenOperation.vendorExtensions.get("postmanRequestBodySchema");
+    if (schema == null) {
+      return context.getExampleJsonHelper().getJsonFromSchema(codegenOperation.bodyParam);
+    }
+    return context.getExampleJsonHelper().getJsonFromSchemaExample(getSchemaExampleSynthesizer().synthesize(schema));
+  }
+
+  // JSON schema of the request body in the spec
+  Schema<?> getRequestBodySchema(Operation operation) {
+    if (operation.getRequestBody() == null) {
+      return null;
+    }
+    RequestBody requestBody = ModelUtils.getReferencedRequestBody(this.openAPI, operation.getRequestBody());
+    if (requestBody == null || requestBody.getContent() == null || requestBody.getContent().get("application/json") == null) {
+      return null;
+    }
+    return requestBody.getContent().get("application/json").getSchema();
+  }
+
+  // find example in components/examples
+  Example getComponentExample(String name) {
+    if (this.openAPI.getComponents() == null || this.openAPI.getComponents().getExamples() == null) {
+      return null;
+    }
+    return this.openAPI.getComponents().getExamples().get(name);
+  }
+
+  ExampleCache getExampleCache() {
+    return context.getExampleCache();
+  }
+
+  FragmentCache getFragmentCache() {
+    return context.getFragmentCache();
+  }
+
   // make sure operation name is always set
   String getSummary(CodegenOperation codegenOperation) {
     String ret;
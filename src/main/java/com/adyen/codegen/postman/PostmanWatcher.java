@@ -0,0 +1,177 @@
+package com.adyen.codegen.postman;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Long-running mode: watch the input spec (and the local files it references with $ref) and regenerate the collection
+ * in place after each change, keeping the JVM warm between runs.
+ * <p>
+ * Changes are debounced (editors often write a file in several steps). The incremental and lean modes are enabled unless
+ * configured otherwise, so only the items of the changed operations are rebuilt and the models are skipped.
+ */
+public class PostmanWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostmanWatcher.class);
+
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+
+    // $ref to another file (ie `$ref: 'schemas/Amount.yaml#/Amount'`): group 1 is the file
+    private static final Pattern EXTERNAL_REF = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?([^\"'#\\s]+)");
+
+    private final PostmanBatchGenerator.Spec spec;
+    private final long debounceMillis;
+    private final PostmanBatchGenerator generator = new PostmanBatchGenerator(1);
+    private final List<Consumer<PostmanBatchGenerator.Result>> listeners = new CopyOnWriteArrayList<>();
+
+    // directories registered with the WatchService
+    private final Set<Path> watchedDirectories = new HashSet<>();
+
+    /**
+     * @param spec Spec to watch and generate
+     * @param debounceMillis Quiet period after the last change before regenerating
+     */
+    public PostmanWatcher(PostmanBatchGenerator.Spec spec, long debounceMillis) {
+        Map<String, Object> additionalProperties = new LinkedHashMap<>(spec.getAdditionalProperties());
+        additionalProperties.putIfAbsent(PostmanV2Generator.INCREMENTAL, true);
+        additionalProperties.putIfAbsent(PostmanV2Generator.LEAN_GENERATION, true);
+        this.spec = new PostmanBatchGenerator.Spec(spec.getInputSpec(), spec.getOutputDir(), additionalProperties);
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Notified after each generation (on the watching thread)
+     */
+    public void addListener(Consumer<PostmanBatchGenerator.Result> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Generate the collection, then regenerate it after each change until the thread is interrupted
+     */
+    public void run() throws IOException, InterruptedException {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Set<Path> files = regenerate(watchService);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean changed = isChanged(watchService.take(), files);
+
+                // wait for the end of the burst of events
+                WatchKey key;
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isChanged(key, files);
+                }
+
+                if (changed) {
+                    files = regenerate(watchService);
+                }
+            }
+        }
+    }
+
+    // watch the files used by the spec (references can change with the spec), then generate
+    private Set<Path> regenerate(WatchService watchService) throws IOException {
+        // registered before generating: changes made during the generation trigger the next one
+        Set<Path> files = getWatchedFiles();
+        for (Path file : files) {
+            Path directory = file.getParent();
+            if (watchedDirectories.add(directory)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+
+        PostmanBatchGenerator.Result result = generator.generate(spec);
+        if (result.isSuccess()) {
+            LOGGER.info("Regenerated {} in {} ms", spec.getOutputDir(), result.getDurationMillis());
+        }
+        listeners.forEach(listener -> listener.accept(result));
+        return files;
+    }
+
+    private boolean isChanged(WatchKey key, Set<Path> files) {
+        boolean changed = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // events lost: regenerate to be safe
+                changed = true;
+            } else if (files.contains(directory.resolve((Path) event.context()).toAbsolutePath().normalize())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Input spec and the local files it references (recursively), as absolute paths
+     */
+    Set<Path> getWatchedFiles() {
+        Set<Path> files = new HashSet<>();
+        Deque<Path> pending = new ArrayDeque<>();
+        pending.push(Paths.get(spec.getInputSpec()).toAbsolutePath().normalize());
+
+        while (!pending.isEmpty()) {
+            Path file = pending.pop();
+            if (!files.add(file) || !Files.isRegularFile(file)) {
+                continue;
+            }
+            try {
+                Matcher matcher = EXTERNAL_REF.matcher(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    String ref = matcher.group(1);
+                    if (!ref.contains("://")) {
+                        pending.push(file.getParent().resolve(ref).normalize());
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not read {}: references not watched", file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Usage: PostmanWatcher &lt;inputSpec&gt; &lt;output directory&gt; [key=value,key=value]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: PostmanWatcher <inputSpec> <output directory> [key=value,key=value]");
+            System.exit(2);
+        }
+        Map<String, Object> additionalProperties = new LinkedHashMap<>();
+        if (args.length > 2) {
+            for (String property : args[2].split(",")) {
+                String[] keyValue = property.split("=", 2);
+                additionalProperties.put(keyValue[0].trim(), keyValue.length > 1 ? keyValue[1].trim() : "");
+            }
+        }
+
+        PostmanBatchGenerator.Spec spec = new PostmanBatchGenerator.Spec(args[0], Paths.get(args[1]), additionalProperties);
+        LOGGER.info("Watching {} (Ctrl+C to stop)", args[0]);
+        new PostmanWatcher(spec, DEFAULT_DEBOUNCE_MILLIS).run();
+    }
+}
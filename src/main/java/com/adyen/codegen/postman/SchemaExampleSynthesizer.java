@@ -0,0 +1,216 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.utils.ModelUtils;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthesize example payloads from the schemas (requestParameterGeneration=Schema): objects with their properties,
+ * arrays with one item, $ref, allOf (merged), oneOf/anyOf (first option), enums (first value) and placeholders
+ * for the other values (ie "&lt;string&gt;", "&lt;number&gt;", "&lt;date&gt;").
+ * <p>
+ * The example of each referenced schema is built once per generation and shared by all operations using it, wherever
+ * its nesting fits below {@link #MAX_DEPTH} (the result does not depend on the order of the operations).
+ * Recursive schemas are cut at the second occurrence (empty object) and nesting is bounded by {@link #MAX_DEPTH}.
+ * Examples are Map/List/String/Number/Boolean values (unmodifiable), serialized with ExampleJsonHelper.
+ */
+public class SchemaExampleSynthesizer {
+
+    static final int MAX_DEPTH = 10;
+
+    private static final String STRING_PLACEHOLDER = "<string>";
+
+    private final OpenAPI openAPI;
+
+    // example by schema name (complete examples only: not cut by a cycle or the depth)
+    private final Map<String, Example> examples = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SchemaExampleSynthesizer(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    /**
+     * @param schema Schema (inline or $ref)
+     * @return example value (Map, List, String, Number or Boolean)
+     */
+    public Object synthesize(Schema<?> schema) {
+        return synthesize(schema, new Walk());
+    }
+
+    private Object synthesize(Schema<?> schema, Walk walk) {
+        if (schema == null) {
+            return STRING_PLACEHOLDER;
+        }
+        if (schema.get$ref() != null) {
+            return synthesizeRef(schema.get$ref(), walk);
+        }
+        if (schema.getEnum() != null && !schema.getEnum().isEmpty() && schema.getEnum().get(0) != null) {
+            return schema.getEnum().get(0);
+        }
+        if (schema.getAllOf() != null && !schema.getAllOf().isEmpty()) {
+            return synthesizeAllOf(schema, walk);
+        }
+        if (schema.getOneOf() != null && !schema.getOneOf().isEmpty()) {
+            return synthesize(schema.getOneOf().get(0), walk);
+        }
+        if (schema.getAnyOf() != null && !schema.getAnyOf().isEmpty()) {
+            return synthesize(schema.getAnyOf().get(0), walk);
+        }
+        if (ModelUtils.isArraySchema(schema)) {
+            if (!walk.enter()) {
+                return Collections.emptyList();
+            }
+            Object item = synthesize(schema.getItems(), walk);
+            walk.depth--;
+            return Collections.singletonList(item);
+        }
+        if (schema.getProperties() != null || ModelUtils.isObjectSchema(schema) || ModelUtils.isMapSchema(schema)) {
+            if (!walk.enter()) {
+                return Collections.emptyMap();
+            }
+            Map<String, Object> properties = new LinkedHashMap<>();
+            addProperties(properties, schema, walk);
+            walk.depth--;
+            return Collections.unmodifiableMap(properties);
+        }
+        return getPlaceholder(schema);
+    }
+
+    // example shared by all the schemas referencing it
+    private Object synthesizeRef(String ref, Walk walk) {
+        String name = ModelUtils.getSimpleRef(ref);
+        Example cached = examples.get(name);
+        if (cached != null && walk.depth + cached.depth <= MAX_DEPTH) {
+            hits.incrementAndGet();
+            walk.reached = Math.max(walk.reached, walk.depth + cached.depth);
+            return cached.value;
+        }
+        if (walk.path.contains(name)) {
+            // recursive schema
+            walk.cuts++;
+            return Collections.emptyMap();
+        }
+
+        Schema<?> schema = ModelUtils.getSchema(openAPI, name);
+        if (schema == null) {
+            return STRING_PLACEHOLDER;
+        }
+
+        // not cached yet, or cached but too deep here (built again, cut by the depth, not cached)
+        int cuts = walk.cuts;
+        int reached = walk.reached;
+        walk.reached = walk.depth;
+        walk.path.push(name);
+        Object example = synthesize(schema, walk);
+        walk.path.pop();
+
+        if (walk.cuts == cuts) {
+            misses.incrementAndGet();
+            examples.putIfAbsent(name, new Example(example, walk.reached - walk.depth));
+        }
+        walk.reached = Math.max(reached, walk.reached);
+        return example;
+    }
+
+    // properties of all the schemas (and of the schema itself) in one object
+    private Object synthesizeAllOf(Schema<?> schema, Walk walk) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (Schema<?> part : schema.getAllOf()) {
+            Object example = synthesize(part, walk);
+            if (example instanceof Map) {
+                ((Map<?, ?>) example).forEach((key, value) -> properties.put(String.valueOf(key), value));
+            } else if (schema.getAllOf().size() == 1 && schema.getProperties() == null) {
+                // allOf wrapping a single non-object schema (ie enum with a description)
+                return example;
+            }
+        }
+        if (walk.enter()) {
+            addProperties(properties, schema, walk);
+            walk.depth--;
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private void addProperties(Map<String, Object> properties, Schema<?> schema, Walk walk) {
+        if (schema.getProperties() != null) {
+            for (Map.Entry<String, Schema> property : schema.getProperties().entrySet()) {
+                // not sent in requests
+                if (!Boolean.TRUE.equals(property.getValue().getReadOnly())) {
+                    properties.put(property.getKey(), synthesize(property.getValue(), walk));
+                }
+            }
+        }
+        if (schema.getAdditionalProperties() instanceof Schema && properties.isEmpty()) {
+            // map: one entry
+            properties.put(STRING_PLACEHOLDER, synthesize((Schema<?>) schema.getAdditionalProperties(), walk));
+        }
+    }
+
+    // placeholder of a value: type or format of the schema
+    static String getPlaceholder(Schema<?> schema) {
+        if (ModelUtils.isIntegerSchema(schema) || ModelUtils.isNumberSchema(schema)) {
+            return "<number>";
+        } else if (ModelUtils.isBooleanSchema(schema)) {
+            return "<boolean>";
+        } else if (schema.getFormat() != null && !schema.getFormat().isEmpty()) {
+            // date, date-time, email, uuid, ...
+            return "<" + schema.getFormat() + ">";
+        }
+        return STRING_PLACEHOLDER;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return examples.size();
+    }
+
+    // example and the nesting levels it uses
+    private static class Example {
+
+        private final Object value;
+        private final int depth;
+
+        Example(Object value, int depth) {
+            this.value = value;
+            this.depth = depth;
+        }
+    }
+
+    // state of one synthesis: schemas being synthesized, nesting (current and deepest) and number of cuts
+    private static class Walk {
+
+        private final Deque<String> path = new ArrayDeque<>();
+        private int depth = 0;
+        private int reached = 0;
+        private int cuts = 0;
+
+        // false (and counted as a cut) beyond the maximum depth
+        boolean enter() {
+            if (depth >= MAX_DEPTH) {
+                cuts++;
+                return false;
+            }
+            depth++;
+            reached = Math.max(reached, depth);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.adyen.codegen.postman;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Mustache lambda rendering its fragment once per request (context): the request of an item and the originalRequest
+ * of its responses are the same PostmanRequestItem, the rendered request is written again instead of rendered again.
+ * <p>
+ * Usage: {@code {{#sharedRequest}}{{>request}}{{/sharedRequest}}}
+ */
+public class SharedRequestLambda implements Mustache.Lambda {
+
+    // last rendered request (responses follow their request)
+    private Object lastContext = null;
+    private String lastRendered = null;
+
+    private long rendered = 0;
+    private long reused = 0;
+
+    @Override
+    public void execute(Template.Fragment frag, Writer out) throws IOException {
+        Object context = frag.context();
+        if (context != lastContext) {
+            lastRendered = frag.execute();
+            lastContext = context;
+            rendered++;
+        } else {
+            reused++;
+        }
+        out.write(lastRendered);
+    }
+
+    public long getRendered() {
+        return rendered;
+    }
+
+    public long getReused() {
+        return reused;
+    }
+}
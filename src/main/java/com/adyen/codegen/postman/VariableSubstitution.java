@@ -0,0 +1,184 @@
+package com.adyen.codegen.postman;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Replaces placeholders in request bodies with Postman variables ({{VAR}}) and generated values ({{$guid}}).
+ *
+ * The variable names are compiled once into a trie: each body is rewritten in a single scan, matching the
+ * longest name at each position. A name only matches as a whole word (not inside a longer identifier, the escape
+ * sequences of the JSON body like \n being boundaries) and placeholders already defined as Postman variables
+ * ({{VAR}}) are left untouched.
+ * When a name is configured both as Postman variable and generated variable, the Postman variable is used.
+ */
+public class VariableSubstitution {
+
+    static final String GUID = "{{$guid}}";
+
+    private final Node root = new Node();
+    private final boolean empty;
+
+    /**
+     * @param postmanVariableNames Placeholders to replace with {{name}} (can be null)
+     * @param generatedVariableNames Placeholders to replace with {{$guid}} (can be null)
+     */
+    public VariableSubstitution(String[] postmanVariableNames, String[] generatedVariableNames) {
+        // generated variables first: Postman variables with the same name override them
+        add(generatedVariableNames, false);
+        add(postmanVariableNames, true);
+        empty = root.keys.length == 0;
+    }
+
+    private void add(String[] names, boolean postmanVariable) {
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            if (name == null || name.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.getOrAddChild(name.charAt(i));
+            }
+            node.name = name;
+            node.replacement = postmanVariable ? "{{" + name + "}}" : GUID;
+            node.postmanVariable = postmanVariable;
+        }
+    }
+
+    /**
+     * Replace all placeholders in the body
+     * @param body Request body
+     * @param matchedVariables Collects the names of the Postman variables found in the body
+     * @return Body with the placeholders replaced (same instance when nothing matches)
+     */
+    public String substitute(String body, Set<String> matchedVariables) {
+        if (empty || body == null || body.isEmpty()) {
+            return body;
+        }
+
+        StringBuilder sb = null;
+        int copied = 0;
+        int length = body.length();
+
+        for (int i = 0; i < length; i++) {
+            Node match = findLongestMatch(body, i);
+            if (match == null) {
+                continue;
+            }
+            int end = i + match.name.length();
+            if (isDefinedVariable(body, i, end)) {
+                // already {{name}}
+                i = end - 1;
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(length + 64);
+            }
+            sb.append(body, copied, i).append(match.replacement);
+            if (match.postmanVariable) {
+                matchedVariables.add(match.name);
+            }
+            copied = end;
+            i = end - 1;
+        }
+
+        if (sb == null) {
+            return body;
+        }
+        return sb.append(body, copied, length).toString();
+    }
+
+    // longest name starting at position start, on word boundaries
+    private Node findLongestMatch(String body, int start) {
+        if (isEscaped(body, start)) {
+            return null;
+        }
+        if (start > 0 && isWordChar(body.charAt(start - 1)) && !isEscaped(body, start - 1) && isWordChar(body.charAt(start))) {
+            // inside a word
+            return null;
+        }
+
+        Node longest = null;
+        Node node = root;
+        for (int i = start; i < body.length(); i++) {
+            node = node.getChild(body.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.name != null && (i + 1 == body.length() || !isWordChar(body.charAt(i)) || !isWordChar(body.charAt(i + 1)))) {
+                longest = node;
+            }
+        }
+        return longest;
+    }
+
+    private static boolean isDefinedVariable(String body, int start, int end) {
+        return body.startsWith("{{", start - 2) && body.startsWith("}}", end);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    // character part of an escape sequence (after the backslash): \n, \t, \" or u and 4 hex digits
+    private static boolean isEscaped(String body, int index) {
+        if (index > 0 && isEscapeStart(body, index - 1)) {
+            return true;
+        }
+        // hex digits of a unicode escape
+        for (int u = index - 1; u > 0 && u >= index - 4; u--) {
+            if (Character.digit(body.charAt(u + 1), 16) < 0) {
+                return false;
+            }
+            if (body.charAt(u) == 'u' && isEscapeStart(body, u - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // backslash not escaped itself (odd number of backslashes)
+    private static boolean isEscapeStart(String body, int index) {
+        int backslashes = 0;
+        for (int i = index; i >= 0 && body.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    // trie node, children kept in sorted arrays (binary search)
+    private static class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        String name;
+        String replacement;
+        boolean postmanVariable;
+
+        Node getChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrAddChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+}
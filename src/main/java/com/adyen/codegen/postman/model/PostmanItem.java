@@ -0,0 +1,42 @@
+package com.adyen.codegen.postman.model;
+
+import org.openapitools.codegen.CodegenOperation;
+
+import java.util.List;
+
+/**
+ * Item of the collection (one operation with its requests and their response examples), published as soon as
+ * the operation is processed
+ */
+public class PostmanItem {
+
+    // tag folder (null with the Paths folder strategy)
+    private final String folder;
+    private final CodegenOperation codegenOperation;
+    private final List<PostmanRequestItem> postmanRequests;
+    // item as written in the collection
+    private final String json;
+
+    public PostmanItem(String folder, CodegenOperation codegenOperation, List<PostmanRequestItem> postmanRequests, String json) {
+        this.folder = folder;
+        this.codegenOperation = codegenOperation;
+        this.postmanRequests = postmanRequests;
+        this.json = json;
+    }
+
+    public String getFolder() {
+        return folder;
+    }
+
+    public CodegenOperation getCodegenOperation() {
+        return codegenOperation;
+    }
+
+    public List<PostmanRequestItem> getPostmanRequests() {
+        return postmanRequests;
+    }
+
+    public String getJson() {
+        return json;
+    }
+}
@@ -3,6 +3,8 @@ package com.adyen.codegen.postman.model;
 import com.adyen.codegen.postman.CodegenUtils;
 import org.openapitools.codegen.CodegenResponse;
 
+import java.util.function.Supplier;
+
 public class PostmanResponse {
 
     private String id;
@@ -10,6 +12,8 @@ public class PostmanResponse {
     private String status;
     private String name;
     private String body;
+    // serializes the body on first access (see getBody)
+    private Supplier<String> bodySupplier;
 
     // Somehow Postman decided that response examples should contain the request data again...
     private PostmanRequestItem originalRequest;
@@ -23,6 +27,12 @@ public class PostmanResponse {
         this.originalRequest = null; // Setting this here explicitly for clarity
     }
 
+    // body is serialized only when the response is used
+    public PostmanResponse(String id, CodegenResponse response, String name, Supplier<String> bodySupplier) {
+        this(id, response, name, (String) null);
+        this.bodySupplier = bodySupplier;
+    }
+
     public String getId() {
         return id;
     }
@@ -32,14 +42,23 @@ public class PostmanResponse {
     }
 
     public String getBody() {
+        if (bodySupplier != null) {
+            body = bodySupplier.get();
+            bodySupplier = null;
+        }
         return body;
     }
 
     public void setBody(String body) {
         this.body = body;
+        this.bodySupplier = null;
+    }
+
+    public boolean isBodySerialized() {
+        return bodySupplier == null;
     }
 
-    private String getCode() {
+    public String getCode() {
         return code;
     }
 
@@ -5,6 +5,10 @@ import junit.framework.TestCase;
 import org.openapitools.codegen.CodegenResponse;
 import org.openapitools.codegen.DefaultCodegen;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 public class CodegenUtilsTest extends TestCase {
 
     private final DefaultCodegen defaultCodegen = new DefaultCodegen();
@@ -57,4 +61,23 @@ public class CodegenUtilsTest extends TestCase {
                 CodegenUtils.getStatus(defaultCodegen.fromResponse("599", new ApiResponse().description("599 response"))),
                 "");
     }
-}
\ No newline at end of file
+
+    public void testParseUntrustedLocalRefs() throws Exception {
+        String spec = new String(Files.readAllBytes(Paths.get("./src/test/resources/Basic.yaml")), StandardCharsets.UTF_8);
+
+        assertNotNull(CodegenUtils.parseUntrusted(spec).getComponents().getSchemas().get("User"));
+    }
+
+    public void testParseUntrustedExternalRefs() throws Exception {
+        String spec = new String(Files.readAllBytes(Paths.get("./src/test/resources/BasicJson.json")), StandardCharsets.UTF_8);
+
+        for (String ref : new String[]{"https://example.com/schemas.yaml#/User", "file:///etc/hosts", "schemas.yaml#/User"}) {
+            try {
+                CodegenUtils.parseUntrusted(spec.replace("#/components/schemas/User", ref));
+                fail("IllegalArgumentException expected: " + ref);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains(ref));
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class ComponentPrunerTest {
+
+    @Test
+    public void pruneUnreferencedComponents() {
+        OpenAPI openAPI = new OpenAPI()
+                .paths(new Paths().addPathItem("/payments/{id}", new PathItem()
+                        .addParametersItem(new Parameter().$ref("#/components/parameters/id"))
+                        .post(new Operation()
+                                .requestBody(new RequestBody().content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(ref("PaymentRequest"))
+                                                .addExamples("basic", new Example().$ref("#/components/examples/payment"))))))))
+                .components(new Components()
+                        .addParameters("id", new Parameter().name("id").in("path").schema(new StringSchema()))
+                        .addParameters("unused", new Parameter().name("unused").in("query"))
+                        .addExamples("payment", new Example().value("{}"))
+                        .addExamples("refund", new Example().value("{}"))
+                        .addSchemas("PaymentRequest", new ObjectSchema()
+                                .addProperty("amount", ref("Amount"))
+                                .addProperty("lineItems", new ArraySchema().items(ref("LineItem"))))
+                        .addSchemas("Amount", new ObjectSchema().addProperty("currency", new StringSchema()))
+                        .addSchemas("LineItem", new ObjectSchema().addProperty("id", new StringSchema()))
+                        .addSchemas("RefundRequest", new ObjectSchema().addProperty("amount", ref("Amount")))
+                        .addSecuritySchemes("ApiKeyAuth", new SecurityScheme().type(SecurityScheme.Type.APIKEY)));
+
+        ComponentPruner componentPruner = new ComponentPruner();
+        int pruned = componentPruner.prune(openAPI);
+
+        assertEquals(3, pruned);
+        assertEquals(Map.of("schemas", 1, "parameters", 1, "examples", 1), componentPruner.getPruned());
+        assertEquals(Set.of("PaymentRequest", "Amount", "LineItem"), openAPI.getComponents().getSchemas().keySet());
+        assertEquals(Set.of("id"), openAPI.getComponents().getParameters().keySet());
+        assertEquals(Set.of("payment"), openAPI.getComponents().getExamples().keySet());
+        // referenced by name
+        assertEquals(Set.of("ApiKeyAuth"), openAPI.getComponents().getSecuritySchemes().keySet());
+    }
+
+    @Test
+    public void keepDiscriminatorMappings() {
+        OpenAPI openAPI = new OpenAPI()
+                .paths(new Paths().addPathItem("/paymentMethods", new PathItem()
+                        .post(new Operation().requestBody(new RequestBody().$ref("#/components/requestBodies/PaymentMethod")))))
+                .components(new Components()
+                        .addRequestBodies("PaymentMethod", new RequestBody().content(new Content()
+                                .addMediaType("application/json", new MediaType().schema(ref("PaymentMethod")))))
+                        .addSchemas("PaymentMethod", new ObjectSchema()
+                                .addProperty("type", new StringSchema())
+                                .discriminator(new Discriminator().propertyName("type")
+                                        .mapping("card", "#/components/schemas/CardDetails")
+                                        .mapping("ideal", "IdealDetails")))
+                        .addSchemas("CardDetails", new ObjectSchema().addProperty("number", new StringSchema()))
+                        .addSchemas("IdealDetails", new ObjectSchema().addProperty("issuer", new StringSchema()))
+                        .addSchemas("Unused", new ObjectSchema()));
+
+        assertEquals(1, new ComponentPruner().prune(openAPI));
+        assertEquals(Set.of("PaymentMethod", "CardDetails", "IdealDetails"), openAPI.getComponents().getSchemas().keySet());
+        assertEquals(Set.of("PaymentMethod"), openAPI.getComponents().getRequestBodies().keySet());
+    }
+
+    @Test
+    public void recursiveSchemas() {
+        OpenAPI openAPI = new OpenAPI()
+                .paths(new Paths().addPathItem("/categories", new PathItem()
+                        .post(new Operation().requestBody(new RequestBody().content(new Content()
+                                .addMediaType("application/json", new MediaType().schema(ref("Category"))))))))
+                .components(new Components()
+                        .addSchemas("Category", new ObjectSchema()
+                                .addProperty("subCategories", new ArraySchema().items(ref("Category")))));
+
+        assertEquals(0, new ComponentPruner().prune(openAPI));
+        assertEquals(Set.of("Category"), openAPI.getComponents().getSchemas().keySet());
+    }
+
+    private static Schema<?> ref(String name) {
+        return new Schema<>().$ref("#/components/schemas/" + name);
+    }
+}
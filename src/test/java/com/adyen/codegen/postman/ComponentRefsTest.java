@@ -0,0 +1,54 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ComponentRefsTest {
+
+    @Test
+    public void findRefsAndDiscriminatorMappings() {
+        Schema<?> schema = new ObjectSchema()
+                .addProperty("amount", new Schema<>().$ref("#/components/schemas/Amount"))
+                .discriminator(new Discriminator().propertyName("type")
+                        .mapping("card", "#/components/schemas/CardDetails")
+                        .mapping("ideal", "IdealDetails"));
+        JsonNode node = Json.mapper().valueToTree(schema);
+
+        assertEquals(Set.of("#/components/schemas/Amount", "#/components/schemas/CardDetails", "#/components/schemas/IdealDetails"),
+                ComponentRefs.findRefs(node));
+    }
+
+    @Test
+    public void resolve() {
+        Example example = new Example().value("EUR");
+        Components components = new Components().addExamples("basic", example);
+
+        assertSame(example, ComponentRefs.resolve(components, "#/components/examples/basic"));
+        assertNull(ComponentRefs.resolve(components, "#/components/examples/other"));
+        assertNull(ComponentRefs.resolve(components, "#/components/schemas/basic"));
+        assertNull(ComponentRefs.resolve(components, "#/components/unknown/basic"));
+        assertNull(ComponentRefs.resolve(null, "#/components/examples/basic"));
+    }
+
+    @Test
+    public void closureOfRecursiveRefs() {
+        Map<String, Set<String>> graph = Map.of("A", Set.of("B"), "B", Set.of("A", "C"), "C", Set.of());
+
+        assertEquals(Set.of("A", "B", "C"), ComponentRefs.getClosure(List.of("A"), graph::get));
+        assertEquals(Set.of("C"), ComponentRefs.getClosure(List.of("C"), graph::get));
+    }
+}
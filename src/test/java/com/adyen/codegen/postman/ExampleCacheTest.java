@@ -0,0 +1,115 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.examples.Example;
+import org.junit.Test;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExampleCacheTest {
+
+    @Test
+    public void serializeOncePerExample() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("firstName", "John");
+
+        Example example = new Example();
+        example.setSummary("Get user");
+        example.setValue(value);
+
+        AtomicInteger lookups = new AtomicInteger();
+        ExampleCache exampleCache = new ExampleCache();
+
+        ExampleCache.CachedExample first = exampleCache.get("get-user", name -> {
+            lookups.incrementAndGet();
+            return example;
+        });
+        ExampleCache.CachedExample second = exampleCache.get("get-user", name -> {
+            lookups.incrementAndGet();
+            return example;
+        });
+
+        assertSame(first, second);
+        assertEquals(1, lookups.get());
+        assertEquals("{\\n \\\"firstName\\\": \\\"John\\\"\\n}", first.getBody());
+        assertEquals("Get user", first.getSummary());
+        assertEquals(1, exampleCache.getMisses());
+        assertEquals(1, exampleCache.getHits());
+        assertEquals(1, exampleCache.size());
+    }
+
+    @Test
+    public void undefinedExample() {
+        ExampleCache exampleCache = new ExampleCache();
+
+        ExampleCache.CachedExample cachedExample = exampleCache.get("not-found", name -> null);
+
+        assertEquals("", cachedExample.getBody());
+        assertNull(cachedExample.getSummary());
+    }
+
+    @Test
+    public void countersOfEachGeneration() {
+        ExampleCache shared = new ExampleCache();
+        ExampleCache first = shared.forGeneration();
+        first.get("not-found", name -> null);
+
+        // examples serialized by the first generation, hits and misses of the second only
+        ExampleCache second = shared.forGeneration();
+        second.get("not-found", name -> null);
+        second.get("not-found", name -> null);
+
+        assertEquals(1, second.size());
+        assertEquals(2, second.getHits());
+        assertEquals(0, second.getMisses());
+        assertEquals(1, first.getMisses());
+        assertEquals(0, first.getHits());
+    }
+
+    @Test
+    public void clear() {
+        ExampleCache exampleCache = new ExampleCache();
+        exampleCache.get("not-found", name -> null);
+        exampleCache.get("not-found", name -> null);
+
+        exampleCache.clear();
+
+        assertEquals(0, exampleCache.size());
+        assertEquals(0, exampleCache.getHits());
+        assertEquals(0, exampleCache.getMisses());
+    }
+
+    @Test
+    public void componentExamplesSerializedOnce() throws IOException {
+        File output = Files.createTempDirectory("postmantest_").toFile();
+        output.deleteOnExit();
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec("./src/test/resources/CheckoutBasic.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        final ClientOptInput clientOptInput = configurator.toClientOptInput();
+        DefaultGenerator generator = new DefaultGenerator();
+        List<File> files = generator.opts(clientOptInput).generate();
+        files.forEach(File::deleteOnExit);
+
+        ExampleCache exampleCache = ((PostmanV2Generator) clientOptInput.getConfig()).getExampleCache();
+        // each referenced example is serialized once
+        assertEquals(exampleCache.size(), exampleCache.getMisses());
+        assertTrue(exampleCache.getHits() > 0);
+    }
+}
@@ -2,11 +2,14 @@ package com.adyen.codegen.postman;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.models.examples.Example;
 import org.junit.Test;
 import org.openapitools.codegen.CodegenParameter;
 import org.openapitools.codegen.CodegenProperty;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 
 import static org.junit.Assert.assertEquals;
@@ -106,7 +109,7 @@ public class ExampleJsonHelperTest {
     @Test
     public void convertObjectNodeIncludingDoubleQuoteToJson() {
 
-        final String EXPECTED = "{\\n  \\\"id\\\" : 1,\\n  \\\"city\\\" : \\\"it is \\\\\"Amsterdam\\\\\" \\\"\\n}";
+        final String EXPECTED = "{\\n  \\\"id\\\" : 1,\\n  \\\"city\\\" : \\\"it is \\\\\\\"Amsterdam\\\\\\\" \\\"\\n}";
 
         ObjectMapper mapper = new ObjectMapper();
         ObjectNode city = mapper.createObjectNode();
@@ -248,12 +251,114 @@ public class ExampleJsonHelperTest {
     }
 
     @Test
-    public void formatString() {
-        final String EXPECTED = "{\\\\\\\"live\\\\\\\": \\\\\\\"false\\\\\\\", \\\\\\\"demo\\\\\\\": \\\\\\\"yes\\\\\\\"}";
+    public void convertNumericTypesToJson() {
 
-        String json = "{\"live\": \"false\", \"demo\": \"yes\"}";
+        final String EXPECTED =
+                "{\\n " +
+                        "\\\"id\\\": 12345678901,\\n " +
+                        "\\\"rate\\\": 0.25,\\n " +
+                        "\\\"amount\\\": 1000.50,\\n " +
+                        "\\\"reference\\\": null" +
+                        "\\n}";
+
+        LinkedHashMap<String, Object> payment = new LinkedHashMap<>();
+        payment.put("id", 12345678901L);
+        payment.put("rate", 0.25d);
+        payment.put("amount", new BigDecimal("1000.50"));
+        payment.put("reference", null);
+
+        assertEquals(EXPECTED, new ExampleJsonHelper().convertToJson(payment));
+
+    }
+
+    @Test
+    public void convertNestedArraysToJson() {
+
+        final String EXPECTED =
+                "{\\n " +
+                        "\\\"matrix\\\": [[1, 2], [3, 4]],\\n " +
+                        "\\\"flags\\\": [true, false, null]" +
+                        "\\n}";
+
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        map.put("matrix", new ArrayList<>(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4))));
+        map.put("flags", new ArrayList<>(Arrays.asList(true, false, null)));
+
+        assertEquals(EXPECTED, new ExampleJsonHelper().convertToJson(map));
+
+    }
+
+    @Test
+    public void convertStringWithSpecialCharactersToJson() {
+
+        final String EXPECTED =
+                "{\\n " +
+                        "\\\"text\\\": \\\"it is \\\\\\\"Amsterdam\\\\\\\"\\\\nNL\\\"" +
+                        "\\n}";
+
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        map.put("text", "it is \"Amsterdam\"\nNL");
+
+        assertEquals(EXPECTED, new ExampleJsonHelper().convertToJson(map));
+
+    }
+
+    @Test
+    public void convertEscapedDoubleQuotesToJson() {
+
+        final String EXPECTED =
+                "{\\n " +
+                        "\\\"text\\\": \\\"it is \\\\\\\"Amsterdam\\\\\\\"\\\"" +
+                        "\\n}";
+
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        // double quotes already escaped
+        map.put("text", "it is \\\"Amsterdam\\\"");
+
+        assertEquals(EXPECTED, new ExampleJsonHelper().convertToJson(map));
+
+    }
+
+    @Test
+    public void getJsonFromArrayExample() {
+
+        final String EXPECTED = "[{\\n \\\"id\\\": 1\\n}, {\\n \\\"id\\\": 2\\n}]";
+
+        ArrayList<Object> list = new ArrayList<>();
+        list.add(new LinkedHashMap<String, Object>() {{ put("id", 1); }});
+        list.add(new LinkedHashMap<String, Object>() {{ put("id", 2); }});
+
+        assertEquals(EXPECTED, new ExampleJsonHelper().getJsonFromExample(new Example().value(list)));
 
-        assertEquals(EXPECTED, new ExampleJsonHelper().formatString(json));
     }
 
+    @Test
+    public void minify() {
+        // escaped JSON as produced by prettyPrint
+        String body = "{\\n  \\\"name\\\" : \\\"John Smith\\\",\\n  \\\"tags\\\" : [ \\\"a\\\", \\\"b\\\" ]\\n}";
+
+        assertEquals("{\\\"name\\\":\\\"John Smith\\\",\\\"tags\\\":[\\\"a\\\",\\\"b\\\"]}", ExampleJsonHelper.minify(body));
+    }
+
+    @Test
+    public void minifyKeepsStringValues() {
+        // escaped double quote, escaped new line and unicode escape within the string value
+        String body = "{\\n \\\"text\\\": \\\"say \\\\\\\"hi\\\\\\\" \\\\n \\u00e9 \\\"\\n}";
+
+        assertEquals("{\\\"text\\\":\\\"say \\\\\\\"hi\\\\\\\" \\\\n \\u00e9 \\\"}", ExampleJsonHelper.minify(body));
+    }
+
+    @Test
+    public void minifyKeepsPostmanVariables() {
+        String body = "{\\n  \\\"merchantAccount\\\" : \\\"{{YOUR_MERCHANT_ACCOUNT}}\\\",\\n  \\\"amount\\\" : {{AMOUNT}}\\n}";
+
+        assertEquals("{\\\"merchantAccount\\\":\\\"{{YOUR_MERCHANT_ACCOUNT}}\\\",\\\"amount\\\":{{AMOUNT}}}", ExampleJsonHelper.minify(body));
+    }
+
+    @Test
+    public void minifyIgnoresText() {
+        assertEquals("", ExampleJsonHelper.minify(""));
+        assertEquals("plain text body", ExampleJsonHelper.minify("plain text body"));
+        assertEquals(null, ExampleJsonHelper.minify(null));
+    }
 }
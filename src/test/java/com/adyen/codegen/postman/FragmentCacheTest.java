@@ -0,0 +1,85 @@
+package com.adyen.codegen.postman;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FragmentCacheTest {
+
+    @Test
+    public void reuseFragmentOfPreviousGeneration() throws IOException {
+        Path directory = createTempDirectory();
+
+        FragmentCache first = new FragmentCache(directory).load();
+        assertNull(first.get("abc"));
+        first.put("abc", "{\n  \"name\" : \"/payments\"\n}", Set.of("YOUR_MERCHANT_ACCOUNT"), 2, 3);
+        first.save();
+        assertEquals(1, first.getRebuilt());
+
+        FragmentCache second = new FragmentCache(directory).load();
+        FragmentCache.Fragment fragment = second.get("abc");
+
+        assertNotNull(fragment);
+        assertEquals("{\n  \"name\" : \"/payments\"\n}", fragment.getJson());
+        assertEquals(Set.of("YOUR_MERCHANT_ACCOUNT"), fragment.getVariables());
+        assertEquals(2, fragment.getRequests());
+        assertEquals(3, fragment.getResponses());
+        assertEquals(1, second.getReused());
+        assertEquals(0, second.getRebuilt());
+    }
+
+    @Test
+    public void removeUnusedFragments() throws IOException {
+        Path directory = createTempDirectory();
+
+        FragmentCache first = new FragmentCache(directory).load();
+        first.put("abc", "{}", Set.of(), 1, 0);
+        first.put("def", "{}", Set.of(), 1, 0);
+        first.save();
+
+        // only abc is used by the next generation
+        FragmentCache second = new FragmentCache(directory).load();
+        second.get("abc");
+        second.save();
+
+        assertEquals(1, second.getRemoved());
+        assertTrue(Files.exists(directory.resolve("abc.json")));
+        assertFalse(Files.exists(directory.resolve("def.json")));
+        assertNull(new FragmentCache(directory).load().get("def"));
+    }
+
+    @Test
+    public void ignoreIndexOfAnotherVersion() throws IOException {
+        Path directory = createTempDirectory();
+        Files.write(directory.resolve("abc.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(FragmentCache.INDEX_FILE),
+                "{\"version\": 0, \"fragments\": {\"abc\": []}}".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(new FragmentCache(directory).load().get("abc"));
+    }
+
+    @Test
+    public void ignoreUnreadableIndex() throws IOException {
+        Path directory = createTempDirectory();
+        Files.write(directory.resolve(FragmentCache.INDEX_FILE), "not json".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(new FragmentCache(directory).load().get("abc"));
+    }
+
+    private Path createTempDirectory() throws IOException {
+        File directory = Files.createTempDirectory("postmantest_").toFile();
+        directory.deleteOnExit();
+        return directory.toPath();
+    }
+}
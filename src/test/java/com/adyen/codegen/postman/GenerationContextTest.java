@@ -0,0 +1,152 @@
+package com.adyen.codegen.postman;
+
+import org.junit.Test;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GlobalSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationContextTest {
+
+    private static final int THREADS = 8;
+    private static final int GENERATIONS = 16;
+
+    // spec and options of each generation (different variables, folders and engines)
+    private static final List<Map<String, Object>> RUNS = List.of(
+            Map.of("inputSpec", "./src/test/resources/BasicVariablesInExample.yaml",
+                    PostmanV2Generator.POSTMAN_VARIABLES, "MY_VAR-MY_VAR_2"),
+            Map.of("inputSpec", "./src/test/resources/CheckoutBasic.yaml",
+                    PostmanV2Generator.FOLDER_STRATEGY, "Tags"),
+            Map.of("inputSpec", "./src/test/resources/SampleProject.yaml",
+                    PostmanV2Generator.PATH_PARAMS_AS_VARIABLES, "true",
+                    PostmanV2Generator.PARALLEL_PROCESSING, "true"),
+            Map.of("inputSpec", "./src/test/resources/MgmtApi.json",
+                    PostmanV2Generator.FOLDER_STRATEGY, "Tags",
+                    PostmanV2Generator.OUTPUT_ENGINE, "Streaming",
+                    PostmanV2Generator.PARALLEL_PROCESSING, "true"));
+
+    @Test
+    public void concurrentGenerations() throws Exception {
+        // one generation at a time
+        List<String> expected = new ArrayList<>();
+        for (Map<String, Object> run : RUNS) {
+            expected.add(generate(run));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> futures = IntStream.range(0, GENERATIONS)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return generate(RUNS.get(i % RUNS.size()));
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            for (int i = 0; i < GENERATIONS; i++) {
+                assertEquals("generation " + i, expected.get(i % RUNS.size()), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void reuseGenerator() throws IOException {
+        Path output = createTempDirectory();
+        ClientOptInput clientOptInput = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec("./src/test/resources/BasicVariablesInExample.yaml")
+                .addAdditionalProperty(PostmanV2Generator.POSTMAN_VARIABLES, "MY_VAR-MY_VAR_2")
+                .setOutputDir(output.toString())
+                .toClientOptInput();
+        PostmanV2Generator postmanV2Generator = (PostmanV2Generator) clientOptInput.getConfig();
+
+        new DefaultGenerator().opts(clientOptInput).generate();
+        String first = read(output.resolve("postman.json"));
+        GenerationContext firstContext = postmanV2Generator.context;
+
+        new DefaultGenerator().opts(clientOptInput).generate();
+
+        // nothing left from the first run: same variables and requests
+        assertNotSame(firstContext, postmanV2Generator.context);
+        assertEquals(firstContext.getVariables(), postmanV2Generator.context.getVariables());
+        assertEquals(firstContext.getCodegenOperationsList().size(), postmanV2Generator.context.getCodegenOperationsList().size());
+        assertEquals(first, read(output.resolve("postman.json")));
+    }
+
+    @Test
+    public void addOperationConcurrently() throws Exception {
+        GenerationContext context = new GenerationContext();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String tag = "tag" + (i % 10);
+                futures.add(executor.submit(() -> context.addOperation(tag, new CodegenOperation())));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(10, context.getCodegenOperationsByTag().size());
+        assertTrue(context.getCodegenOperationsByTag().values().stream().allMatch(operations -> operations.size() == 100));
+        // sorted by tag name
+        assertEquals("tag0", context.getCodegenOperationsByTag().keySet().iterator().next());
+    }
+
+    // generate the collection in a new directory, returns its content
+    private String generate(Map<String, Object> run) throws IOException {
+        Path output = createTempDirectory();
+        // global properties are thread local: do not inherit the ones of the test thread (as PostmanBatchGenerator)
+        GlobalSettings.reset();
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec(run.get("inputSpec").toString())
+                .setOutputDir(output.toString());
+        run.forEach((key, value) -> {
+            if (!key.equals("inputSpec")) {
+                configurator.addAdditionalProperty(key, value);
+            }
+        });
+
+        new DefaultGenerator().opts(CodegenUtils.toClientOptInput(configurator)).generate();
+
+        return read(output.resolve("postman.json"));
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    private Path createTempDirectory() throws IOException {
+        File directory = Files.createTempDirectory("postmantest_").toFile();
+        directory.deleteOnExit();
+        return directory.toPath();
+    }
+}
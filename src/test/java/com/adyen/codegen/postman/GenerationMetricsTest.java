@@ -0,0 +1,101 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationMetricsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void phasesAndCounters() {
+        GenerationMetrics metrics = new GenerationMetrics();
+
+        metrics.startPhase("preprocess");
+        metrics.startPhase("models");
+        metrics.startPhase("models");
+        metrics.startPhase("preprocess");
+        metrics.endPhase();
+
+        metrics.addOperation(2, 3);
+        metrics.addOperation(1, 0);
+        metrics.setCounter("outputBytes", 100);
+
+        Map<String, Object> map = metrics.toMap();
+        Map<String, Object> phases = (Map<String, Object>) map.get("phases");
+        // phases listed once, in the order they first started
+        assertEquals(List.of("preprocess", "models"), List.copyOf(phases.keySet()));
+
+        Map<String, Object> counters = (Map<String, Object>) map.get("counters");
+        assertEquals(2L, counters.get("operations"));
+        assertEquals(3L, counters.get("requestItems"));
+        assertEquals(3L, counters.get("responses"));
+        assertEquals(100L, counters.get("outputBytes"));
+    }
+
+    @Test
+    public void testGenerateMetrics() throws IOException {
+        File output = Files.createTempDirectory("postmantest_").toFile();
+        output.deleteOnExit();
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec("./src/test/resources/CheckoutBasic.yaml")
+                .addAdditionalProperty(PostmanV2Generator.GENERATE_METRICS, true)
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        DefaultGenerator generator = new DefaultGenerator();
+        List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+        files.forEach(File::deleteOnExit);
+
+        Path path = Paths.get(output + "/" + PostmanV2Generator.METRICS_FILE);
+        path.toFile().deleteOnExit();
+        TestUtils.assertFileExists(path);
+
+        JsonNode metrics = new ObjectMapper().readTree(path.toFile());
+        JsonNode phases = metrics.get("phases");
+        for (String phase : List.of("preprocess", "models", "operations", "requests", "render")) {
+            assertTrue("Missing phase " + phase, phases.has(phase));
+            assertTrue(phases.get(phase).get("wallTimeMs").asDouble() >= 0);
+        }
+        assertTrue(metrics.get("totalWallTimeMs").asDouble() > 0);
+
+        JsonNode counters = metrics.get("counters");
+        assertTrue(counters.get("operations").asLong() > 0);
+        assertTrue(counters.get("requestItems").asLong() >= counters.get("operations").asLong());
+        assertTrue(counters.get("responses").asLong() > 0);
+        assertTrue(counters.get("componentExamples").asLong() > 0);
+        assertEquals(Files.size(Paths.get(output + "/postman.json")), counters.get("outputBytes").asLong());
+    }
+
+    @Test
+    public void noMetricsByDefault() throws IOException {
+        File output = Files.createTempDirectory("postmantest_").toFile();
+        output.deleteOnExit();
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec("./src/test/resources/Basic.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        DefaultGenerator generator = new DefaultGenerator();
+        List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+        files.forEach(File::deleteOnExit);
+
+        assertFalse(Files.exists(Paths.get(output + "/" + PostmanV2Generator.METRICS_FILE)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OperationFilterTest {
+
+    @Test
+    public void pathGlobs() {
+        assertTrue(OperationFilter.toPattern("/payments/**").matcher("/payments/{paymentPspReference}/refunds").matches());
+        assertTrue(OperationFilter.toPattern("/payments/*").matcher("/payments/details").matches());
+        assertFalse(OperationFilter.toPattern("/payments/*").matcher("/payments/{paymentPspReference}/refunds").matches());
+        assertFalse(OperationFilter.toPattern("/payments/*").matcher("/paymentLinks/{linkId}").matches());
+        assertTrue(OperationFilter.toPattern("/payment?inks").matcher("/paymentLinks").matches());
+        // regex characters are literal
+        assertFalse(OperationFilter.toPattern("/users/{id}").matcher("/users/id").matches());
+    }
+
+    @Test
+    public void includeAndExclude() {
+        OperationFilter filter = new OperationFilter("Payments | Modifications", null, null, "/payments/*/cancels",
+                null, "refundPayment", null, "delete");
+
+        assertTrue(filter.test("/payments", "post", operation("payments", "Payments")));
+        assertTrue(filter.test("/payments/{paymentPspReference}/captures", "post", operation("captureAuthorisedPayment", "Modifications")));
+        // excluded path
+        assertFalse(filter.test("/payments/{paymentPspReference}/cancels", "post", operation("cancelAuthorisedPayment", "Modifications")));
+        // excluded operationId
+        assertFalse(filter.test("/payments/{paymentPspReference}/refunds", "post", operation("refundPayment", "Modifications")));
+        // excluded method
+        assertFalse(filter.test("/payments/{id}", "DELETE", operation("deletePayment", "Payments")));
+        // tag not included
+        assertFalse(filter.test("/paymentLinks", "post", operation("paymentLinks", "Payment links")));
+    }
+
+    @Test
+    public void defaultTag() {
+        OperationFilter filter = new OperationFilter("default", null, null, null, null, null, "GET", null);
+
+        assertTrue(filter.test("/users", "get", operation("getUsers")));
+        assertFalse(filter.test("/users", "post", operation("createUser")));
+        assertFalse(filter.test("/groups", "get", operation("getGroups", "groups")));
+    }
+
+    @Test
+    public void notEnabled() {
+        assertFalse(new OperationFilter(null, null, null, null, null, null, null, null).isEnabled());
+        assertFalse(new OperationFilter("", " ", null, null, null, null, null, null).isEnabled());
+        assertTrue(new OperationFilter(null, null, null, null, null, null, null, "DELETE").isEnabled());
+    }
+
+    @Test
+    public void applyToSpec() {
+        OpenAPI openAPI = new OpenAPI().paths(new Paths()
+                .addPathItem("/users", new PathItem()
+                        .get(operation("getUsers", "users"))
+                        .post(operation("createUser", "users")))
+                .addPathItem("/users/{id}", new PathItem()
+                        .delete(operation("deleteUser", "users")))
+                .addPathItem("/groups", new PathItem()
+                        .get(operation("getGroups", "groups"))));
+
+        int removed = new OperationFilter("users", null, null, null, null, null, null, "DELETE").apply(openAPI);
+
+        assertEquals(2, removed);
+        assertEquals(1, openAPI.getPaths().size());
+        PathItem users = openAPI.getPaths().get("/users");
+        assertNotNull(users.getGet());
+        assertNotNull(users.getPost());
+        assertNull(openAPI.getPaths().get("/users/{id}"));
+    }
+
+    private static Operation operation(String operationId, String... tags) {
+        return new Operation().operationId(operationId).tags(tags.length > 0 ? List.of(tags) : null);
+    }
+}
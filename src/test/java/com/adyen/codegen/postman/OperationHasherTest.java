@@ -0,0 +1,97 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class OperationHasherTest {
+
+    @Test
+    public void stableHash() {
+        String hash = new OperationHasher(createOpenAPI("EUR"), "").hash("/payments", "post", createOperation());
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, new OperationHasher(createOpenAPI("EUR"), "").hash("/payments", "post", createOperation()));
+    }
+
+    @Test
+    public void hashDependsOnPathMethodAndOptions() {
+        OpenAPI openAPI = createOpenAPI("EUR");
+        String hash = new OperationHasher(openAPI, "").hash("/payments", "post", createOperation());
+
+        assertNotEquals(hash, new OperationHasher(openAPI, "").hash("/payments", "put", createOperation()));
+        assertNotEquals(hash, new OperationHasher(openAPI, "").hash("/refunds", "post", createOperation()));
+        assertNotEquals(hash, new OperationHasher(openAPI, "pathParamsAsVariables").hash("/payments", "post", createOperation()));
+    }
+
+    @Test
+    public void hashIncludesReferencedComponents() {
+        String hash = new OperationHasher(createOpenAPI("EUR"), "").hash("/payments", "post", createOperation());
+
+        // example referenced by the operation
+        OpenAPI changedExample = createOpenAPI("USD");
+        assertNotEquals(hash, new OperationHasher(changedExample, "").hash("/payments", "post", createOperation()));
+
+        // schema referenced by the schema of the request body
+        OpenAPI changedSchema = createOpenAPI("EUR");
+        changedSchema.getComponents().getSchemas().get("Amount").addProperty("value", new StringSchema());
+        assertNotEquals(hash, new OperationHasher(changedSchema, "").hash("/payments", "post", createOperation()));
+
+        // component not referenced by the operation
+        OpenAPI unrelated = createOpenAPI("EUR");
+        unrelated.getComponents().addSchemas("Refund", new ObjectSchema());
+        assertEquals(hash, new OperationHasher(unrelated, "").hash("/payments", "post", createOperation()));
+    }
+
+    @Test
+    public void hashIncludesDiscriminatorMappings() {
+        OpenAPI openAPI = createOpenAPI("EUR");
+        openAPI.getComponents()
+                .addSchemas("PaymentMethod", new ObjectSchema()
+                        .addProperty("type", new StringSchema())
+                        .discriminator(new Discriminator().propertyName("type").mapping("card", "CardDetails")))
+                .addSchemas("CardDetails", new ObjectSchema().addProperty("number", new StringSchema()));
+        openAPI.getComponents().getSchemas().get("PaymentRequest")
+                .addProperty("paymentMethod", new Schema<>().$ref("#/components/schemas/PaymentMethod"));
+        String hash = new OperationHasher(openAPI, "").hash("/payments", "post", createOperation());
+
+        // subtype only referenced by the mapping
+        openAPI.getComponents().getSchemas().get("CardDetails").addProperty("cvc", new StringSchema());
+        assertNotEquals(hash, new OperationHasher(openAPI, "").hash("/payments", "post", createOperation()));
+    }
+
+    private Operation createOperation() {
+        MediaType mediaType = new MediaType()
+                .schema(new Schema<>().$ref("#/components/schemas/PaymentRequest"))
+                .examples(Map.of("basic", new Example().$ref("#/components/examples/basic")));
+
+        return new Operation()
+                .operationId("payments")
+                .requestBody(new RequestBody().content(new Content().addMediaType("application/json", mediaType)));
+    }
+
+    private OpenAPI createOpenAPI(String currency) {
+        Components components = new Components()
+                .addSchemas("PaymentRequest", new ObjectSchema()
+                        .addProperty("amount", new Schema<>().$ref("#/components/schemas/Amount")))
+                .addSchemas("Amount", new ObjectSchema()
+                        .addProperty("currency", new StringSchema()))
+                .addExamples("basic", new Example().value(Map.of("amount", Map.of("currency", currency))));
+
+        return new OpenAPI().components(components);
+    }
+}
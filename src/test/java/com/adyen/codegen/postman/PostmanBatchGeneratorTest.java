@@ -0,0 +1,101 @@
+package com.adyen.codegen.postman;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class PostmanBatchGeneratorTest {
+
+    @Test
+    public void generateManifest() throws IOException {
+        Path output = createTempDirectory();
+        Path resources = Paths.get("src/test/resources").toAbsolutePath();
+        Path manifest = output.resolve("manifest.json");
+        Files.write(manifest, ("{\n" +
+                "  \"additionalProperties\": { \"folderStrategy\": \"Tags\" },\n" +
+                "  \"specs\": [\n" +
+                "    { \"inputSpec\": \"" + json(resources.resolve("CheckoutBasic.yaml")) + "\" },\n" +
+                "    { \"inputSpec\": \"" + json(resources.resolve("SampleProject.yaml")) + "\", \"outputDir\": \"sample\",\n" +
+                "      \"additionalProperties\": { \"folderStrategy\": \"Paths\", \"postmanVariables\": \"MY_VAR\" } }\n" +
+                "  ]\n" +
+                "}").getBytes(StandardCharsets.UTF_8));
+
+        List<PostmanBatchGenerator.Spec> specs = PostmanBatchGenerator.readManifest(manifest, output);
+
+        assertEquals(2, specs.size());
+        assertEquals(output.resolve("CheckoutBasic"), specs.get(0).getOutputDir());
+        assertEquals("Tags", specs.get(0).getAdditionalProperties().get("folderStrategy"));
+        assertEquals(output.resolve("sample"), specs.get(1).getOutputDir());
+        assertEquals("Paths", specs.get(1).getAdditionalProperties().get("folderStrategy"));
+        assertEquals("MY_VAR", specs.get(1).getAdditionalProperties().get("postmanVariables"));
+
+        List<PostmanBatchGenerator.Result> results = new PostmanBatchGenerator(2).generate(specs);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        // Tags strategy: folder per tag
+        TestUtils.assertFileContains(output.resolve("CheckoutBasic/postman.json"), "\"name\": \"Payments\"");
+        TestUtils.assertFileExists(output.resolve("sample/postman.json"));
+    }
+
+    @Test
+    public void generateDirectory() throws IOException {
+        Path specsDir = createTempDirectory();
+        Path output = createTempDirectory();
+        Files.copy(Paths.get("src/test/resources/BasicJson.json"), specsDir.resolve("BasicJson.json"));
+        Files.copy(Paths.get("src/test/resources/Basic.yaml"), specsDir.resolve("Basic.yaml"));
+        Files.write(specsDir.resolve("README.md"), "not a spec".getBytes(StandardCharsets.UTF_8));
+        // json and yaml files which are not specs
+        Files.write(specsDir.resolve("manifest.json"), "{\"specs\": [{\"inputSpec\": \"Basic.yaml\"}]}".getBytes(StandardCharsets.UTF_8));
+        Files.write(specsDir.resolve("postman.json"), "{\"info\": {\"name\": \"openapi\"}, \"item\": []}".getBytes(StandardCharsets.UTF_8));
+        Files.write(specsDir.resolve("list.yaml"), "- openapi\n- swagger\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(specsDir.resolve("invalid.json"), "{\"name\": ".getBytes(StandardCharsets.UTF_8));
+
+        List<PostmanBatchGenerator.Spec> specs = PostmanBatchGenerator.scanDirectory(specsDir, output);
+        assertEquals(2, specs.size());
+
+        List<PostmanBatchGenerator.Result> results = new PostmanBatchGenerator(4).generate(specs);
+
+        assertTrue(results.stream().allMatch(PostmanBatchGenerator.Result::isSuccess));
+        TestUtils.assertFileExists(output.resolve("Basic/postman.json"));
+        TestUtils.assertFileExists(output.resolve("BasicJson/postman.json"));
+    }
+
+    @Test
+    public void failingSpecDoesNotStopBatch() throws IOException {
+        Path output = createTempDirectory();
+        List<PostmanBatchGenerator.Spec> specs = List.of(
+                new PostmanBatchGenerator.Spec("src/test/resources/not-found.yaml", output.resolve("not-found"), Map.of()),
+                new PostmanBatchGenerator.Spec("src/test/resources/Basic.yaml", output.resolve("basic"), Map.of()));
+
+        List<PostmanBatchGenerator.Result> results = new PostmanBatchGenerator(1).generate(specs);
+
+        assertFalse(results.get(0).isSuccess());
+        assertNotNull(results.get(0).getError());
+        assertTrue(results.get(1).isSuccess());
+        TestUtils.assertFileExists(output.resolve("basic/postman.json"));
+    }
+
+    private static String json(Path path) {
+        return path.toString().replace("\\", "/");
+    }
+
+    private Path createTempDirectory() throws IOException {
+        File directory = Files.createTempDirectory("postmantest_").toFile();
+        directory.deleteOnExit();
+        return directory.toPath();
+    }
+}
@@ -0,0 +1,140 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.Test;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PostmanCollectionGeneratorTest {
+
+    private static final String CHECKOUT_SPEC = "./src/test/resources/CheckoutService-v71.yaml";
+
+    @Test
+    public void sameAsGeneratedFile() throws IOException {
+        Map<String, Object> additionalProperties = Map.of(
+                PostmanV2Generator.FOLDER_STRATEGY, "Tags",
+                PostmanV2Generator.POSTMAN_VARIABLES, "YOUR_MERCHANT_ACCOUNT");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        GenerationMetrics metrics = new PostmanCollectionGenerator(additionalProperties)
+                .generate(Files.readAllBytes(Paths.get(CHECKOUT_SPEC)), outputStream);
+
+        assertArrayEquals(Files.readAllBytes(generateFile(additionalProperties)), outputStream.toByteArray());
+        assertEquals(25, metrics.getOperations());
+    }
+
+    @Test
+    public void sharedExampleCache() throws IOException {
+        String spec = Files.readString(Paths.get(CHECKOUT_SPEC));
+        ExampleCache exampleCache = new ExampleCache();
+        PostmanCollectionGenerator generator = new PostmanCollectionGenerator();
+
+        Map<String, Object> first = counters(generator.generate(CodegenUtils.parse(spec), exampleCache, new ByteArrayOutputStream()));
+        Map<String, Object> second = counters(generator.generate(CodegenUtils.parse(spec), exampleCache, new ByteArrayOutputStream()));
+
+        // counters of each generation: the second one serializes no example
+        long lookups = (long) first.get("componentExamples") + (long) first.get("exampleCacheHits");
+        assertTrue((long) first.get("componentExamples") > 0);
+        assertEquals(0L, second.get("componentExamples"));
+        assertEquals(lookups, second.get("exampleCacheHits"));
+    }
+
+    @Test
+    public void writeToWriter() throws IOException {
+        Map<String, Object> additionalProperties = Map.of(
+                PostmanV2Generator.REQUEST_PARAMETER_GENERATION, "Schema",
+                PostmanV2Generator.INCLUDE_TAGS, "Payments");
+        OpenAPI openAPI = CodegenUtils.parse(Files.readString(Paths.get(CHECKOUT_SPEC)));
+
+        StringWriter writer = new StringWriter();
+        new PostmanCollectionGenerator(additionalProperties).generate(openAPI, writer);
+
+        assertEquals(Files.readString(generateFile(additionalProperties)), writer.toString());
+    }
+
+    @Test
+    public void gzipWithoutClosingStream() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new PostmanCollectionGenerator(Map.of(PostmanV2Generator.GZIP_OUTPUT, "true"))
+                .generate(Files.readAllBytes(Paths.get("./src/test/resources/SampleProject.yaml")), outputStream);
+        // the caller can keep writing
+        outputStream.write(new byte[0]);
+
+        byte[] collection;
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            collection = inputStream.readAllBytes();
+        }
+        assertTrue(new String(collection, StandardCharsets.UTF_8).contains("\"name\": \"Sample project\""));
+    }
+
+    @Test
+    public void noFilesWritten() throws IOException {
+        Path workingDir = Paths.get("").toAbsolutePath();
+        long files;
+        try (var list = Files.list(workingDir)) {
+            files = list.count();
+        }
+
+        new PostmanCollectionGenerator(Map.of(PostmanV2Generator.GENERATE_METRICS, "true"))
+                .generate(Files.readAllBytes(Paths.get("./src/test/resources/BasicJson.json")), new ByteArrayOutputStream());
+
+        try (var list = Files.list(workingDir)) {
+            assertEquals(files, list.count());
+        }
+        assertFalse(Files.exists(workingDir.resolve(PostmanV2Generator.METRICS_FILE)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shardedOutputNotSupported() {
+        new PostmanCollectionGenerator(Map.of(PostmanV2Generator.SHARDED_OUTPUT, "true"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void gzipToWriterNotSupported() {
+        new PostmanCollectionGenerator(Map.of(PostmanV2Generator.GZIP_OUTPUT, true))
+                .generate(new OpenAPI(), new StringWriter());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSpec() {
+        new PostmanCollectionGenerator().generate("not a spec".getBytes(StandardCharsets.UTF_8), new ByteArrayOutputStream());
+    }
+
+    // postman.json generated by the CLI with the Streaming output engine
+    private static Path generateFile(Map<String, Object> additionalProperties) throws IOException {
+        File output = Files.createTempDirectory("postmantest_").toFile();
+        output.deleteOnExit();
+
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec(CHECKOUT_SPEC)
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"))
+                .addAdditionalProperty(PostmanV2Generator.OUTPUT_ENGINE, "Streaming");
+        additionalProperties.forEach(configurator::addAdditionalProperty);
+
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate().forEach(File::deleteOnExit);
+        return output.toPath().resolve("postman.json");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> counters(GenerationMetrics metrics) {
+        return (Map<String, Object>) metrics.toMap().get("counters");
+    }
+}
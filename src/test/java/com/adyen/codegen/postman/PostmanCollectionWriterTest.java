@@ -0,0 +1,198 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PostmanCollectionWriterTest {
+
+  @Test
+  public void testStreamingGeneration() throws IOException {
+    Path path = generate("./src/test/resources/Basic.yaml", "Streaming");
+
+    TestUtils.assertFileExists(path);
+    TestUtils.assertFileContains(path, "\"schema\": \"https://schema.getpostman.com/json/collection/v2.1.0/collection.json\"");
+    // verify request name (from summary)
+    TestUtils.assertFileContains(path, "\"name\": \"Get User\"");
+    // verify request endpoint
+    TestUtils.assertFileContains(path, "\"name\": \"/users/:userId\"");
+  }
+
+  @Test
+  public void testSameCollectionAsTemplates() throws IOException {
+    assertSameCollection("./src/test/resources/Basic.yaml");
+    assertSameCollection("./src/test/resources/BasicJson.json");
+    assertSameCollection("./src/test/resources/SampleProject.yaml");
+    assertSameCollection("./src/test/resources/BasicVariablesInExample.yaml");
+    assertSameCollection("./src/test/resources/CheckoutBasic.yaml");
+    assertSameCollection("./src/test/resources/CheckoutBasicGET.yaml");
+    assertSameCollection("./src/test/resources/CheckoutBasicMultipleKeys.yaml");
+    assertSameCollection("./src/test/resources/CheckoutBasicMultipleResponsesGet.yaml");
+    assertSameCollection("./src/test/resources/JsonWithCommasInJsonExample.json");
+    assertSameCollection("./src/test/resources/MgmtApi.json");
+    assertSameCollection("./src/test/resources/CheckoutService-v71.yaml");
+  }
+
+  @Test
+  public void testSameSlimCollectionAsTemplates() throws IOException {
+    assertSameCollection("./src/test/resources/CheckoutBasic.yaml", "Slim");
+    assertSameCollection("./src/test/resources/CheckoutBasicMultipleResponsesGet.yaml", "Slim");
+    assertSameCollection("./src/test/resources/SampleProject.yaml", "Slim");
+  }
+
+  @Test
+  public void testSlimOriginalRequest() throws IOException {
+    JsonNode collection = new ObjectMapper().readTree(generate("./src/test/resources/CheckoutBasic.yaml", "Streaming", "Slim").toFile());
+
+    int responses = 0;
+    for (JsonNode folder : collection.get("item")) {
+      for (JsonNode item : folder.get("item")) {
+        for (JsonNode requestItem : item.get("item")) {
+          JsonNode request = requestItem.get("request");
+          for (JsonNode response : requestItem.get("response")) {
+            JsonNode originalRequest = response.get("originalRequest");
+            // method and url only
+            assertEquals(2, originalRequest.size());
+            assertEquals(request.get("method"), originalRequest.get("method"));
+            assertEquals(request.get("url"), originalRequest.get("url"));
+            responses++;
+          }
+        }
+      }
+    }
+    assertTrue(responses > 0);
+  }
+
+  @Test
+  public void testMinifyOutput() throws IOException {
+    final ObjectMapper mapper = new ObjectMapper();
+    String inputSpec = "./src/test/resources/CheckoutBasic.yaml";
+
+    Path path = generate(inputSpec, Map.of(PostmanV2Generator.MINIFY_OUTPUT, true)).resolve("postman.json");
+    String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+
+    // no indentation and compact bodies
+    assertFalse(content.contains("\n"));
+    assertTrue(content.contains("\\\"channel\\\":\\\"iOS\\\""));
+
+    JsonNode expected = mapper.readTree(generate(inputSpec, Map.of(PostmanV2Generator.OUTPUT_ENGINE, "Streaming")).resolve("postman.json").toFile());
+    assertEquals(parseBodies(expected, mapper), parseBodies(mapper.readTree(content), mapper));
+  }
+
+  @Test
+  public void testGzipOutput() throws IOException {
+    final ObjectMapper mapper = new ObjectMapper();
+    String inputSpec = "./src/test/resources/CheckoutBasic.yaml";
+
+    Path output = generate(inputSpec, Map.of(PostmanV2Generator.GZIP_OUTPUT, true));
+
+    TestUtils.assertFileExists(output.resolve("postman.json.gz"));
+    TestUtils.assertFileNotExists(output.resolve("postman.json"));
+
+    JsonNode actual;
+    try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(output.resolve("postman.json.gz")))) {
+      actual = mapper.readTree(inputStream);
+    }
+    assertEquals(mapper.readTree(generate(inputSpec, Map.of(PostmanV2Generator.OUTPUT_ENGINE, "Streaming")).resolve("postman.json").toFile()), actual);
+  }
+
+  // JSON bodies (request and response examples) replaced by their parsed JSON, equal regardless of the whitespace
+  private JsonNode parseBodies(JsonNode node, ObjectMapper mapper) {
+    if (node.isObject()) {
+      Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        String text = field.getValue().asText();
+        if (field.getValue().isTextual() && (text.startsWith("{") || text.startsWith("["))) {
+          try {
+            ((ObjectNode) node).set(field.getKey(), mapper.readTree(text));
+          } catch (JsonProcessingException e) {
+            // not JSON (ie url with variables)
+          }
+        } else {
+          parseBodies(field.getValue(), mapper);
+        }
+      }
+    } else if (node.isArray()) {
+      for (JsonNode element : node) {
+        parseBodies(element, mapper);
+      }
+    }
+    return node;
+  }
+
+  private void assertSameCollection(String inputSpec) throws IOException {
+    assertSameCollection(inputSpec, PostmanV2Generator.ORIGINAL_REQUEST_MODE_DEFAULT_VALUE);
+  }
+
+  private void assertSameCollection(String inputSpec, String originalRequestMode) throws IOException {
+    final ObjectMapper mapper = new ObjectMapper();
+
+    JsonNode expected = mapper.readTree(generate(inputSpec, "Mustache", originalRequestMode).toFile());
+    JsonNode actual = mapper.readTree(generate(inputSpec, "Streaming", originalRequestMode).toFile());
+
+    assertEquals("Collection mismatch for " + inputSpec, expected, actual);
+  }
+
+  private Path generate(String inputSpec, String outputEngine) throws IOException {
+    return generate(inputSpec, outputEngine, PostmanV2Generator.ORIGINAL_REQUEST_MODE_DEFAULT_VALUE);
+  }
+
+  private Path generate(String inputSpec, String outputEngine, String originalRequestMode) throws IOException {
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .setInputSpec(inputSpec)
+            .addAdditionalProperty(PostmanV2Generator.OUTPUT_ENGINE, outputEngine)
+            .addAdditionalProperty(PostmanV2Generator.PATH_PARAMS_AS_VARIABLES, true)
+            .addAdditionalProperty(PostmanV2Generator.ORIGINAL_REQUEST_MODE, originalRequestMode)
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    DefaultGenerator generator = new DefaultGenerator();
+    List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    Path path = Paths.get(output + "/postman.json");
+    path.toFile().deleteOnExit();
+    return path;
+  }
+
+  private Path generate(String inputSpec, Map<String, Object> additionalProperties) throws IOException {
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .setInputSpec(inputSpec)
+            .setAdditionalProperties(new HashMap<>(additionalProperties))
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    List<File> files = new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    return output.toPath();
+  }
+}
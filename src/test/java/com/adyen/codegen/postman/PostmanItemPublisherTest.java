@@ -0,0 +1,181 @@
+package com.adyen.codegen.postman;
+
+import com.adyen.codegen.postman.model.PostmanItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PostmanItemPublisherTest {
+
+    private static final String CHECKOUT_SPEC = "./src/test/resources/CheckoutService-v71.yaml";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void itemsOfTheCollection() throws Exception {
+        Map<String, Object> additionalProperties = Map.of(PostmanV2Generator.FOLDER_STRATEGY, "Tags");
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+        PostmanItemPublisher publisher = new PostmanItemPublisher(additionalProperties);
+        publisher.subscribe(subscriber);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        publisher.generate(parse(CHECKOUT_SPEC), outputStream);
+
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertNull(subscriber.error.get());
+        assertEquals(25, subscriber.items.size());
+
+        // the collection is the same as without publishing
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new PostmanCollectionGenerator(additionalProperties).generate(parse(CHECKOUT_SPEC), expected);
+        assertArrayEquals(expected.toByteArray(), outputStream.toByteArray());
+
+        // each item is the one written in its folder
+        JsonNode collection = mapper.readTree(outputStream.toByteArray());
+        for (PostmanItem item : subscriber.items) {
+            assertNotNull(item.getPostmanRequests());
+            JsonNode folder = findFolder(collection, item.getFolder());
+            List<JsonNode> folderItems = new ArrayList<>();
+            folder.get("item").forEach(folderItems::add);
+            assertTrue(item.getCodegenOperation().operationId, folderItems.contains(mapper.readTree(item.getJson())));
+        }
+    }
+
+    @Test
+    public void pathsFolderStrategy() throws Exception {
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        PostmanItemPublisher publisher = new PostmanItemPublisher(Map.of(PostmanV2Generator.FOLDER_STRATEGY, "Paths"));
+        publisher.subscribe(subscriber);
+        publisher.generate(parse("./src/test/resources/SampleProject.yaml"), OutputStream.nullOutputStream());
+
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertFalse(subscriber.items.isEmpty());
+        subscriber.items.forEach(item -> assertNull(item.getFolder()));
+    }
+
+    @Test
+    public void backpressure() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // one item requested, buffer of one item: the generation waits for the subscriber
+            CollectingSubscriber subscriber = new CollectingSubscriber(1);
+            PostmanItemPublisher publisher = new PostmanItemPublisher(Map.of(), executor, 1);
+            publisher.subscribe(subscriber);
+
+            OpenAPI openAPI = parse(CHECKOUT_SPEC);
+            CompletableFuture<GenerationMetrics> generation =
+                    CompletableFuture.supplyAsync(() -> publisher.generate(openAPI, OutputStream.nullOutputStream()));
+
+            Thread.sleep(1000);
+            assertFalse(generation.isDone());
+            assertEquals(1, subscriber.items.size());
+
+            subscriber.subscription.request(Long.MAX_VALUE);
+            assertEquals(25, generation.get(60, TimeUnit.SECONDS).getOperations());
+            assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+            assertEquals(25, subscriber.items.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void generationError() throws Exception {
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        PostmanItemPublisher publisher = new PostmanItemPublisher(Map.of());
+        publisher.subscribe(subscriber);
+
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        try {
+            publisher.generate(parse("./src/test/resources/SampleProject.yaml"), failing);
+            fail("Expected RuntimeException");
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertNotNull(subscriber.error.get());
+        // items published before the collection is written
+        assertFalse(subscriber.items.isEmpty());
+    }
+
+    private static OpenAPI parse(String spec) throws IOException {
+        return CodegenUtils.parse(Files.readString(Paths.get(spec)));
+    }
+
+    private static JsonNode findFolder(JsonNode collection, String name) {
+        for (JsonNode folder : collection.get("item")) {
+            if (folder.get("name").asText().equals(name)) {
+                return folder;
+            }
+        }
+        throw new AssertionError("Folder not found: " + name);
+    }
+
+    // requests the given number of items, then more on demand (subscription)
+    private static class CollectingSubscriber implements Flow.Subscriber<PostmanItem> {
+
+        private final long initialRequest;
+        private final List<PostmanItem> items = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+
+        CollectingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(PostmanItem item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PostmanPushClientTest {
+
+    // any JSON document: the client streams the file as it is
+    private static final Path COLLECTION = Paths.get("./src/test/resources/MgmtApi.json");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // closes the connection without response
+    private static final int NO_RESPONSE = -1;
+
+    // stub of the Postman API: status codes returned in turn (last one repeated)
+    private HttpServer server;
+    private final List<Integer> statusCodes = new CopyOnWriteArrayList<>();
+    private final List<Map<String, String>> requestHeaders = new CopyOnWriteArrayList<>();
+    private final List<byte[]> requestBodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    // Retry-After of the error responses (none when null)
+    private volatile String retryAfter;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/collections", this::handle);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void pushCollection() throws Exception {
+        statusCodes.add(200);
+
+        HttpResponse<String> response = newClient(false).push(COLLECTION);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(1, requests.get());
+        assertEquals("POST", requestHeaders.get(0).get("method"));
+        assertEquals("test-key", requestHeaders.get(0).get(PostmanPushClient.API_KEY_HEADER));
+        assertEquals("chunked", requestHeaders.get(0).get("Transfer-Encoding"));
+        assertCollectionBody(requestBodies.get(0));
+    }
+
+    @Test
+    public void pushGzipCollection() throws Exception {
+        statusCodes.add(200);
+        // postman.json.gz (gzipOutput) decompressed, then compressed again with the wrapper
+        Path collection = createTempDirectory().resolve("postman.json.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(collection))) {
+            Files.copy(COLLECTION, outputStream);
+        }
+
+        newClient(true).push(collection);
+
+        assertEquals("gzip", requestHeaders.get(0).get("Content-Encoding"));
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(requestBodies.get(0)))) {
+            assertCollectionBody(inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    public void retryServerErrors() throws Exception {
+        statusCodes.addAll(List.of(503, 429, 200));
+
+        HttpResponse<String> response = newClient(false).push(COLLECTION);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(3, requests.get());
+        // full body sent again on each attempt
+        for (byte[] body : requestBodies) {
+            assertCollectionBody(body);
+        }
+    }
+
+    @Test
+    public void failAfterLastAttempt() throws Exception {
+        statusCodes.add(503);
+
+        try {
+            newClient(false).push(COLLECTION);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("503"));
+        }
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void noRetryOnInternalServerError() throws Exception {
+        // the collection might have been created: a retry could create it twice
+        statusCodes.addAll(List.of(500, 200));
+
+        try {
+            newClient(false).push(COLLECTION);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("500"));
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void noRetryWhenConnectionLost() throws Exception {
+        // request received, connection closed without response
+        statusCodes.addAll(List.of(NO_RESPONSE, 200));
+
+        try {
+            newClient(false).push(COLLECTION);
+            fail("IOException expected");
+        } catch (IOException e) {
+            // expected
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void retryConnectionRefused() throws Exception {
+        int port = server.getAddress().getPort();
+        server.stop(0);
+        PostmanPushClient client = new PostmanPushClient("http://localhost:" + port, "test-key", false, 3, Duration.ofMillis(1),
+                Duration.ofSeconds(1));
+
+        try {
+            client.push(COLLECTION);
+            fail("ConnectException expected");
+        } catch (ConnectException e) {
+            // not sent, retried until the last attempt
+        }
+    }
+
+    @Test
+    public void ignoreRetryAfterAboveMaxBackoff() throws Exception {
+        // above the max backoff (1 second) and too large for a long: backoff used instead
+        for (String value : List.of("3600", "99999999999999999999")) {
+            retryAfter = value;
+            statusCodes.clear();
+            statusCodes.addAll(List.of(429, 503, 200));
+            requests.set(0);
+
+            long start = System.nanoTime();
+            HttpResponse<String> response = newClient(false).push(COLLECTION);
+
+            assertEquals(200, response.statusCode());
+            assertEquals(3, requests.get());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        }
+    }
+
+    @Test
+    public void noRetryOnClientError() throws Exception {
+        statusCodes.addAll(List.of(401, 200));
+
+        try {
+            newClient(false).push(COLLECTION);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("401"));
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void gzipInputStream() throws IOException {
+        byte[] content = Files.readAllBytes(Paths.get("./src/test/resources/CheckoutService-v71.yaml"));
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (InputStream inputStream = new PostmanPushClient.GzipInputStream(new ByteArrayInputStream(content))) {
+            inputStream.transferTo(compressed);
+        }
+
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+    }
+
+    private PostmanPushClient newClient(boolean gzip) {
+        return new PostmanPushClient("http://localhost:" + server.getAddress().getPort(), "test-key", gzip, 3, Duration.ofMillis(1),
+                Duration.ofSeconds(1));
+    }
+
+    // {"collection": <file> }
+    private void assertCollectionBody(byte[] body) throws IOException {
+        JsonNode root = mapper.readTree(body);
+        assertEquals(1, root.size());
+        assertEquals(mapper.readTree(COLLECTION.toFile()), root.get("collection"));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int index = requests.getAndIncrement();
+        requestHeaders.add(Map.of(
+                "method", exchange.getRequestMethod(),
+                PostmanPushClient.API_KEY_HEADER, String.valueOf(exchange.getRequestHeaders().getFirst(PostmanPushClient.API_KEY_HEADER)),
+                "Transfer-Encoding", String.valueOf(exchange.getRequestHeaders().getFirst("Transfer-Encoding")),
+                "Content-Encoding", String.valueOf(exchange.getRequestHeaders().getFirst("Content-Encoding"))));
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            requestBodies.add(inputStream.readAllBytes());
+        }
+
+        int status = statusCodes.get(Math.min(index, statusCodes.size() - 1));
+        if (status == NO_RESPONSE) {
+            exchange.close();
+            return;
+        }
+        byte[] response = ("{\"status\": " + status + "}").getBytes(StandardCharsets.UTF_8);
+        if (status >= 400 && retryAfter != null) {
+            exchange.getResponseHeaders().add("Retry-After", retryAfter);
+        }
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+
+    private Path createTempDirectory() throws IOException {
+        File directory = Files.createTempDirectory("postmantest_").toFile();
+        directory.deleteOnExit();
+        return directory.toPath();
+    }
+}
@@ -0,0 +1,162 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PostmanServerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private PostmanServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        server = new PostmanServer(new InetSocketAddress("localhost", 0), 2, 2);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void generateWithWarmSpec() throws Exception {
+        byte[] spec = Files.readAllBytes(Paths.get("./src/test/resources/CheckoutService-v71.yaml"));
+        Map<String, Object> additionalProperties = Map.of(
+                PostmanV2Generator.FOLDER_STRATEGY, "Tags",
+                PostmanV2Generator.INCLUDE_TAGS, "Payments|Modifications");
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new PostmanCollectionGenerator(additionalProperties).generate(spec, expected);
+
+        String query = "folderStrategy=Tags&includeTags=Payments%7CModifications";
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<byte[]> response = post(query, spec);
+            assertEquals(200, response.statusCode());
+            assertEquals("application/json; charset=utf-8", response.headers().firstValue("Content-Type").orElse(null));
+            assertArrayEquals(expected.toByteArray(), response.body());
+        }
+
+        JsonNode metrics = getMetrics();
+        assertEquals(3, metrics.get("requests").asLong());
+        assertEquals(0, metrics.get("errors").asLong());
+        assertEquals(3, metrics.get("latencyMs").get("count").asInt());
+        assertTrue(metrics.get("latencyMs").get("p50").asDouble() > 0);
+        assertTrue(metrics.get("latencyMs").get("p99").asDouble() <= metrics.get("latencyMs").get("max").asDouble());
+        assertEquals(1, metrics.get("specCache").get("size").asInt());
+        assertEquals(1, metrics.get("specCache").get("misses").asLong());
+        assertEquals(2, metrics.get("specCache").get("hits").asLong());
+        // first request, second request, then a copy prepared for each next request
+        assertEquals(4, metrics.get("specCache").get("parses").asLong());
+    }
+
+    @Test
+    public void gzipOutput() throws Exception {
+        HttpResponse<byte[]> response = post("gzipOutput=true",
+                Files.readAllBytes(Paths.get("./src/test/resources/SampleProject.yaml")));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/gzip", response.headers().firstValue("Content-Type").orElse(null));
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertTrue(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).contains("\"name\": \"Sample project\""));
+        }
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedSpec() throws Exception {
+        byte[] basic = Files.readAllBytes(Paths.get("./src/test/resources/Basic.yaml"));
+        assertEquals(200, post("", basic).statusCode());
+        assertEquals(200, post("", Files.readAllBytes(Paths.get("./src/test/resources/BasicJson.json"))).statusCode());
+        assertEquals(200, post("", Files.readAllBytes(Paths.get("./src/test/resources/SampleProject.yaml"))).statusCode());
+        // evicted (max 2 specs)
+        assertEquals(200, post("", basic).statusCode());
+
+        JsonNode specCache = getMetrics().get("specCache");
+        assertEquals(2, specCache.get("size").asInt());
+        assertEquals(4, specCache.get("misses").asLong());
+        // specs requested once: no copy prepared for a next request
+        assertEquals(4, specCache.get("parses").asLong());
+    }
+
+    @Test
+    public void badRequests() throws Exception {
+        HttpResponse<byte[]> invalidSpec = post("", "not a spec".getBytes(StandardCharsets.UTF_8));
+        assertEquals(400, invalidSpec.statusCode());
+
+        HttpResponse<byte[]> unsupportedOption = post("shardedOutput=true",
+                Files.readAllBytes(Paths.get("./src/test/resources/Basic.yaml")));
+        assertEquals(400, unsupportedOption.statusCode());
+        assertTrue(new String(unsupportedOption.body(), StandardCharsets.UTF_8).contains("shardedOutput"));
+
+        String externalRef = new String(Files.readAllBytes(Paths.get("./src/test/resources/Basic.yaml")), StandardCharsets.UTF_8)
+                .replace("$ref: '#/components/schemas/", "$ref: 'file:///etc/");
+        HttpResponse<byte[]> externalRefSpec = post("", externalRef.getBytes(StandardCharsets.UTF_8));
+        assertEquals(400, externalRefSpec.statusCode());
+        assertTrue(new String(externalRefSpec.body(), StandardCharsets.UTF_8).contains("file:///etc/"));
+
+        HttpResponse<byte[]> get = httpClient.send(HttpRequest.newBuilder(uri("/generate")).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(405, get.statusCode());
+
+        JsonNode metrics = getMetrics();
+        assertEquals(4, metrics.get("errors").asLong());
+        assertEquals(0, metrics.get("latencyMs").get("count").asInt());
+        assertEquals(0, metrics.get("specCache").get("size").asInt());
+    }
+
+    @Test
+    public void parseQuery() {
+        assertEquals(Map.of("folderStrategy", "Tags", "includeTags", "Terminal orders - company level|Payments", "minifyOutput", "true"),
+                PostmanServer.parseQuery("folderStrategy=Tags&includeTags=Terminal+orders+-+company+level%7CPayments&minifyOutput"));
+        assertEquals(Map.of(), PostmanServer.parseQuery(null));
+    }
+
+    @Test
+    public void percentiles() {
+        long[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        assertEquals(5, PostmanServer.percentile(sorted, 50));
+        assertEquals(9, PostmanServer.percentile(sorted, 90));
+        assertEquals(10, PostmanServer.percentile(sorted, 99));
+        assertEquals(0, PostmanServer.percentile(new long[0], 50));
+    }
+
+    private HttpResponse<byte[]> post(String query, byte[] spec) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri("/generate?" + query))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(spec))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private JsonNode getMetrics() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri("/metrics")).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return mapper.readTree(response.body());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
@@ -0,0 +1,118 @@
+package com.adyen.codegen.postman;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class PostmanShardWriterTest {
+
+    @Test
+    public void fileNames() {
+        Set<String> usedNames = new HashSet<>();
+
+        assertEquals("postman-Payments.json", PostmanShardWriter.getFileName("Payments", usedNames));
+        assertEquals("postman-API-credentials-company-level.json", PostmanShardWriter.getFileName("API credentials - company level", usedNames));
+        assertEquals("postman-Terminal-actions.json", PostmanShardWriter.getFileName("Terminal/actions", usedNames));
+        assertEquals("postman-tag.json", PostmanShardWriter.getFileName("../", usedNames));
+        // unique (ignoring case)
+        assertEquals("postman-payments-2.json", PostmanShardWriter.getFileName("payments", usedNames));
+    }
+
+    @Test
+    public void writeShardPerTag() throws Exception {
+        Path output = generate("./src/test/resources/SampleProject.yaml", createTempDirectory());
+        Path full = generateFullCollection("./src/test/resources/SampleProject.yaml");
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode collection = mapper.readTree(full.toFile());
+        JsonNode manifest = mapper.readTree(output.resolve(PostmanShardWriter.MANIFEST_FILE).toFile());
+
+        TestUtils.assertFileNotExists(output.resolve("postman.json"));
+        assertEquals(collection.get("item").size(), manifest.get("shards").size());
+
+        for (int i = 0; i < manifest.get("shards").size(); i++) {
+            JsonNode entry = manifest.get("shards").get(i);
+            JsonNode folder = collection.get("item").get(i);
+            Path file = output.resolve(entry.get("file").asText());
+            JsonNode shard = mapper.readTree(file.toFile());
+
+            // same items as the folder of the tag in the single collection
+            assertEquals(folder.get("name").asText(), entry.get("tag").asText());
+            assertEquals(folder.get("item"), shard.get("item"));
+            assertEquals(collection.get("variable"), shard.get("variable"));
+            assertEquals("Sample project - " + entry.get("tag").asText(), shard.get("info").get("name").asText());
+
+            assertEquals(folder.get("item").size(), entry.get("items").asInt());
+            assertEquals(Files.size(file), entry.get("bytes").asLong());
+            assertEquals(sha256(file), entry.get("sha256").asText());
+        }
+    }
+
+    @Test
+    public void removeStaleShards() throws IOException {
+        Path output = createTempDirectory();
+        Path spec = output.resolve("spec.yaml");
+        Files.copy(Paths.get("./src/test/resources/CheckoutBasic.yaml"), spec);
+
+        generate(spec.toString(), output);
+        TestUtils.assertFileExists(output.resolve("postman-Payments.json"));
+
+        // tag renamed: previous shard removed
+        String content = new String(Files.readAllBytes(spec), StandardCharsets.UTF_8);
+        Files.write(spec, content.replace("- Payments", "- Orders").getBytes(StandardCharsets.UTF_8));
+        generate(spec.toString(), output);
+
+        TestUtils.assertFileExists(output.resolve("postman-Orders.json"));
+        TestUtils.assertFileNotExists(output.resolve("postman-Payments.json"));
+        // other files are never removed
+        TestUtils.assertFileExists(spec);
+    }
+
+    private Path generate(String inputSpec, Path output) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec(inputSpec.replace("\\", "/"))
+                .addAdditionalProperty(PostmanV2Generator.SHARDED_OUTPUT, true)
+                .setOutputDir(output.toAbsolutePath().toString().replace("\\", "/"));
+
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        return output;
+    }
+
+    private Path generateFullCollection(String inputSpec) throws IOException {
+        Path output = createTempDirectory();
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("postman-v2")
+                .setInputSpec(inputSpec)
+                .setOutputDir(output.toAbsolutePath().toString().replace("\\", "/"));
+
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        return output.resolve("postman.json");
+    }
+
+    private static String sha256(Path file) throws IOException, NoSuchAlgorithmException {
+        return OperationHasher.toHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    }
+
+    private Path createTempDirectory() throws IOException {
+        File directory = Files.createTempDirectory("postmantest_").toFile();
+        directory.deleteOnExit();
+        return directory.toPath();
+    }
+}
@@ -1,7 +1,24 @@
 package com.adyen.codegen.postman;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.adyen.codegen.postman.model.PostmanRequestItem;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.oas.models.tags.Tag;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -10,19 +27,26 @@ import org.json.simple.parser.ParseException;
 import org.junit.Assert;
 import org.junit.Test;
 import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenMediaType;
 import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenResponse;
 import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.config.CodegenConfigurator;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -344,6 +368,114 @@ public class PostmanV2GeneratorTest {
 
   }
 
+  @Test
+  public void testNestedExampleFromSchema() throws IOException {
+
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .addAdditionalProperty(PostmanV2Generator.REQUEST_PARAMETER_GENERATION, "Schema")
+            .setInputSpec("./src/test/resources/CheckoutBasic.yaml")
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    DefaultGenerator generator = new DefaultGenerator();
+    List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    Path path = Paths.get(output + "/postman.json");
+    // nested objects ($ref) and enums (first value)
+    TestUtils.assertFileContains(path, "\\\"paymentMethod\\\": {\\n \\\"name\\\": \\\"scheme\\\",\\n \\\"type\\\": \\\"<string>\\\"\\n}");
+    TestUtils.assertFileContains(path, "\\\"amount\\\": {\\n \\\"currency\\\": \\\"<string>\\\",\\n \\\"value\\\": \\\"<number>\\\"\\n}");
+    TestUtils.assertFileContains(path, "\\\"channel\\\": \\\"Web\\\"");
+  }
+
+  @Test
+  public void testExampleFromSchemaWithPathParameter() throws IOException {
+
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    // request body with a schema only (no example) on a path with a parameter
+    Operation operation = new Operation()
+            .operationId("update-store")
+            .addParametersItem(new PathParameter().name("storeId").schema(new StringSchema()))
+            .requestBody(new RequestBody().content(new Content().addMediaType("application/json",
+                    new MediaType().schema(new Schema<>().$ref("#/components/schemas/Store")))))
+            .responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("OK")));
+    OpenAPI openAPI = new OpenAPI()
+            .info(new Info().title("Stores").description("Stores").version("1.0.0"))
+            .paths(new io.swagger.v3.oas.models.Paths().addPathItem("/stores/{storeId}", new PathItem().patch(operation)))
+            .components(new Components()
+                    .addSchemas("Store", new ObjectSchema()
+                            .addProperty("address", new Schema<>().$ref("#/components/schemas/Address"))
+                            .addProperty("reference", new StringSchema()))
+                    .addSchemas("Address", new ObjectSchema()
+                            .addProperty("city", new StringSchema())));
+    File spec = new File(output, "stores.json");
+    Json.mapper().writeValue(spec, openAPI);
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .addAdditionalProperty(PostmanV2Generator.REQUEST_PARAMETER_GENERATION, "Schema")
+            .setInputSpec(spec.getAbsolutePath().replace("\\", "/"))
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    DefaultGenerator generator = new DefaultGenerator();
+    List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    // folder default, path /stores/:storeId, request of the operation
+    JsonNode item = new ObjectMapper().readTree(new File(output, "postman.json"))
+            .get("item").get(0).get("item").get(0).get("item").get(0);
+    assertEquals("{{baseUrl}}/stores/:storeId", item.get("request").get("url").get("raw").asText());
+    // nested object from the schema of the spec (not the top-level placeholders)
+    assertEquals("{\n \"address\": {\n \"city\": \"<string>\"\n},\n \"reference\": \"<string>\"\n}",
+            item.get("request").get("body").get("raw").asText());
+  }
+
+  @Test
+  public void testExampleWithDoubleQuotesAndBackslashes() throws IOException {
+
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    final String description = "say \"hi\" from C:\\temp\\";
+    final String json = "{\"openapi\": \"3.0.3\", \"info\": {\"title\": \"Notes\", \"description\": \"Notes\", \"version\": \"1.0.0\"},\n"
+            + "\"paths\": {\"/notes\": {\"post\": {\"operationId\": \"create-note\",\n"
+            + "\"requestBody\": {\"content\": {\"application/json\": {\"schema\": {\"type\": \"object\"},\n"
+            + "\"examples\": {\"basic\": {\"value\": {\"description\": \"say \\\"hi\\\" from C:\\\\temp\\\\\"}}}}}},\n"
+            + "\"responses\": {\"200\": {\"description\": \"OK\"}}}}}}";
+    final String yaml = "openapi: 3.0.3\ninfo:\n  title: Notes\n  description: Notes\n  version: 1.0.0\npaths:\n  /notes:\n    post:\n"
+            + "      operationId: create-note\n      requestBody:\n        content:\n          application/json:\n"
+            + "            schema:\n              type: object\n            examples:\n              basic:\n"
+            + "                value:\n                  description: 'say \"hi\" from C:\\temp\\'\n"
+            + "      responses:\n        '200':\n          description: OK\n";
+
+    for (String spec : new String[]{"notes.json", "notes.yaml"}) {
+      File specFile = new File(output, spec);
+      Files.write(specFile.toPath(), (spec.endsWith(".json") ? json : yaml).getBytes(StandardCharsets.UTF_8));
+      File specOutput = new File(output, spec.replace('.', '_'));
+
+      final CodegenConfigurator configurator = new CodegenConfigurator()
+              .setGeneratorName("postman-v2")
+              .setInputSpec(specFile.getAbsolutePath().replace("\\", "/"))
+              .setOutputDir(specOutput.getAbsolutePath().replace("\\", "/"));
+
+      DefaultGenerator generator = new DefaultGenerator();
+      List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+      files.forEach(File::deleteOnExit);
+
+      // valid collection, with the example body as valid JSON
+      final ObjectMapper mapper = new ObjectMapper();
+      JsonNode request = mapper.readTree(new File(specOutput, "postman.json"))
+              .get("item").get(0).get("item").get(0).get("item").get(0).get("request");
+      JsonNode body = mapper.readTree(request.get("body").get("raw").asText());
+      assertEquals(spec, description, body.get("description").asText());
+    }
+  }
+
   @Test
   public void testSecuritySchemes() throws IOException, ParseException {
 
@@ -415,11 +547,13 @@ public class PostmanV2GeneratorTest {
     List<PostmanRequestItem> requestItems = new ArrayList<>();
     requestItems.add(new PostmanRequestItem("get by id", STR, "GET"));
 
-    requestItems = postmanV2Generator.createPostmanVariables(requestItems);
+    Set<String> matchedVariables = new HashSet<>();
+    requestItems = postmanV2Generator.substituteVariables(requestItems, matchedVariables);
+    postmanV2Generator.registerVariables(matchedVariables);
 
     assertEquals(1, requestItems.size());
     assertEquals(EXPECTED, requestItems.get(0).getBody());
-    assertEquals(2, postmanV2Generator.variables.size());
+    assertEquals(2, postmanV2Generator.context.getVariables().size());
   }
 
   @Test
@@ -535,12 +669,13 @@ public class PostmanV2GeneratorTest {
     CodegenOperation operationUserId = new CodegenOperation();
     operationUserId.path = "/users/{id}";
     postmanV2Generator.addToList(operationUserId);
+    postmanV2Generator.sortOperations();
 
-    assertEquals(3, postmanV2Generator.codegenOperationsList.size());
+    assertEquals(3, postmanV2Generator.context.getCodegenOperationsList().size());
     // verify order
-    assertEquals("/groups", postmanV2Generator.codegenOperationsList.get(0).path);
-    assertEquals("/users", postmanV2Generator.codegenOperationsList.get(1).path);
-    assertEquals("/users/{id}", postmanV2Generator.codegenOperationsList.get(2).path);
+    assertEquals("/groups", postmanV2Generator.context.getCodegenOperationsList().get(0).path);
+    assertEquals("/users", postmanV2Generator.context.getCodegenOperationsList().get(1).path);
+    assertEquals("/users/{id}", postmanV2Generator.context.getCodegenOperationsList().get(2).path);
   }
 
   @Test
@@ -562,12 +697,13 @@ public class PostmanV2GeneratorTest {
     operationUserId.path = "/users/{id}";
     operationUserId.tags = new ArrayList<>(Arrays.asList(new Tag().name("basic")));
     postmanV2Generator.addToMap(operationUserId);
+    postmanV2Generator.sortOperations();
 
     // verify tag 'basic'
-    assertEquals(1, postmanV2Generator.codegenOperationsByTag.size());
-    assertEquals(true, postmanV2Generator.codegenOperationsByTag.containsKey("basic"));
+    assertEquals(1, postmanV2Generator.context.getCodegenOperationsByTag().size());
+    assertEquals(true, postmanV2Generator.context.getCodegenOperationsByTag().containsKey("basic"));
 
-    List<CodegenOperation> operations = postmanV2Generator.codegenOperationsByTag.get("basic");
+    List<CodegenOperation> operations = postmanV2Generator.context.getCodegenOperationsByTag().get("basic");
     // verify order
     assertEquals("/groups", operations.get(0).path);
     assertEquals("/users", operations.get(1).path);
@@ -584,8 +720,8 @@ public class PostmanV2GeneratorTest {
     postmanV2Generator.addToMap(operationUsers);
 
     // verify tag 'default' is used
-    assertEquals(1, postmanV2Generator.codegenOperationsByTag.size());
-    assertEquals(true, postmanV2Generator.codegenOperationsByTag.containsKey("default"));
+    assertEquals(1, postmanV2Generator.context.getCodegenOperationsByTag().size());
+    assertEquals(true, postmanV2Generator.context.getCodegenOperationsByTag().containsKey("default"));
   }
 
   // test special handling of `merchantId` and `companyId` path parameters
@@ -925,4 +1061,322 @@ public class PostmanV2GeneratorTest {
 
   }
 
-}
\ No newline at end of file
+  @Test
+  public void getPostmanRequestsSerializesMatchedResponsesOnly() {
+    Set<String> serialized = new HashSet<>();
+
+    Map<String, Example> examples = new LinkedHashMap<>();
+    examples.put("first", trackedExample("first", serialized));
+    examples.put("second", trackedExample("second", serialized));
+
+    CodegenResponse codegenResponse = new CodegenResponse();
+    codegenResponse.code = "200";
+    codegenResponse.message = "OK";
+    LinkedHashMap<String, CodegenMediaType> content = new LinkedHashMap<>();
+    content.put("application/json", new CodegenMediaType(null, null, null, examples));
+    codegenResponse.setContent(content);
+
+    CodegenOperation codegenOperation = new CodegenOperation();
+    codegenOperation.httpMethod = "GET";
+    codegenOperation.summary = "Get item";
+    codegenOperation.responses = new ArrayList<>(List.of(codegenResponse));
+
+    List<PostmanRequestItem> items = new PostmanV2Generator().getPostmanRequests(codegenOperation);
+
+    // GET without matching example: first response example only
+    assertEquals(1, items.size());
+    assertEquals(1, items.get(0).getResponses().size());
+    assertEquals("first", items.get(0).getResponses().get(0).getId());
+    assertEquals("{\\n \\\"id\\\": \\\"first\\\"\\n}", items.get(0).getResponses().get(0).getBody());
+    // second example is never serialized
+    assertEquals(Set.of("first"), serialized);
+  }
+
+  // example recording when its value is read
+  private Example trackedExample(String id, Set<String> serialized) {
+    Example example = new Example() {
+      @Override
+      public Object getValue() {
+        serialized.add(id);
+        return super.getValue();
+      }
+    };
+    example.setValue(new LinkedHashMap<>(Map.of("id", id)));
+    return example;
+  }
+
+  // folders are sorted once: generation of a large API must scale linearly with the number of operations
+  @Test(timeout = 300000)
+  public void testLargeNumberOfOperations() throws IOException {
+    final int numTags = 100;
+    final int numPathsPerTag = 200;
+
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    // synthetic spec: 20k operations, paths declared in reverse order
+    io.swagger.v3.oas.models.Paths paths = new io.swagger.v3.oas.models.Paths();
+    for (int p = numPathsPerTag - 1; p >= 0; p--) {
+      for (int t = numTags - 1; t >= 0; t--) {
+        Operation operation = new Operation()
+                .operationId("get" + t + "_" + p)
+                .addTagsItem(String.format("tag%03d", t))
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("OK")));
+        paths.addPathItem(String.format("/tag%03d/resource%03d", t, p), new PathItem().get(operation));
+      }
+    }
+    OpenAPI openAPI = new OpenAPI()
+            .info(new Info().title("Large API").description("Synthetic API").version("1.0.0"))
+            .paths(paths);
+    File spec = new File(output, "large.json");
+    Json.mapper().writeValue(spec, openAPI);
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .setInputSpec(spec.getAbsolutePath().replace("\\", "/"))
+            .addAdditionalProperty(PostmanV2Generator.OUTPUT_ENGINE, "Streaming")
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    DefaultGenerator generator = new DefaultGenerator();
+    List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    JsonNode items = new ObjectMapper().readTree(new File(output, "postman.json")).get("item");
+    assertEquals(numTags, items.size());
+    for (int t = 0; t < numTags; t++) {
+      // folders sorted by tag name
+      JsonNode folder = items.get(t);
+      assertEquals(String.format("tag%03d", t), folder.get("name").asText());
+      // requests sorted by path
+      JsonNode requests = folder.get("item");
+      assertEquals(numPathsPerTag, requests.size());
+      for (int p = 0; p < numPathsPerTag; p++) {
+        assertEquals(String.format("/tag%03d/resource%03d", t, p), requests.get(p).get("name").asText());
+      }
+    }
+  }
+
+  @Test
+  public void testParallelProcessing() throws IOException {
+    assertSameAsSequential("./src/test/resources/CheckoutService-v71.yaml");
+    assertSameAsSequential("./src/test/resources/MgmtApi.json");
+    assertSameAsSequential("./src/test/resources/SampleProject.yaml");
+  }
+
+  private void assertSameAsSequential(String inputSpec) throws IOException {
+    assertEquals("Collection mismatch for " + inputSpec,
+            generateCollection(inputSpec, false), generateCollection(inputSpec, true));
+  }
+
+  private String generateCollection(String inputSpec, boolean parallelProcessing) throws IOException {
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .setInputSpec(inputSpec)
+            .addAdditionalProperty(PostmanV2Generator.PARALLEL_PROCESSING, parallelProcessing)
+            .addAdditionalProperty(PostmanV2Generator.PATH_PARAMS_AS_VARIABLES, true)
+            .addAdditionalProperty(PostmanV2Generator.POSTMAN_VARIABLES, "YOUR_MERCHANT_ACCOUNT-YOUR_COMPANY_ACCOUNT")
+            .addAdditionalProperty(PostmanV2Generator.GENERATED_VARIABLES, "YOUR_ORDER_NUMBER")
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    DefaultGenerator generator = new DefaultGenerator();
+    List<File> files = generator.opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    return new String(Files.readAllBytes(Paths.get(output + "/postman.json")), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testLeanGeneration() throws IOException {
+    final ObjectMapper mapper = new ObjectMapper();
+
+    for (String requestParameterGeneration : List.of("Example", "Schema")) {
+      JsonNode expected = mapper.readTree(generateCheckoutService(false, requestParameterGeneration).toFile());
+      JsonNode actual = mapper.readTree(generateCheckoutService(true, requestParameterGeneration).toFile());
+
+      // same collection without the models
+      assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testLeanGenerationSkipsModels() {
+    PostmanV2Generator postmanV2Generator = new PostmanV2Generator();
+    postmanV2Generator.leanGeneration = true;
+    Schema<?> schema = new ObjectSchema().addProperty("currency", new StringSchema());
+    postmanV2Generator.setOpenAPI(new OpenAPI().components(new Components()));
+
+    // model stage: name only
+    postmanV2Generator.processOpenAPI(new OpenAPI());
+    assertTrue(postmanV2Generator.fromModel("Amount", schema).vars.isEmpty());
+
+    // operations stage (ie body parameters): full model
+    postmanV2Generator.fromOperation("/payments", "post", new Operation(), null);
+    assertEquals(1, postmanV2Generator.fromModel("Amount", schema).vars.size());
+  }
+
+  private Path generateCheckoutService(boolean leanGeneration, String requestParameterGeneration) throws IOException {
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .setInputSpec("./src/test/resources/CheckoutService-v71.yaml")
+            .addAdditionalProperty(PostmanV2Generator.LEAN_GENERATION, leanGeneration)
+            .addAdditionalProperty(PostmanV2Generator.REQUEST_PARAMETER_GENERATION, requestParameterGeneration)
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    List<File> files = new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    return Paths.get(output + "/postman.json");
+  }
+
+  @Test
+  public void testIncremental() throws IOException {
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+    Path spec = output.toPath().resolve("spec.yaml");
+    Files.copy(Paths.get("./src/test/resources/CheckoutBasic.yaml"), spec);
+
+    // first run: all items rebuilt, same output as the streaming engine
+    PostmanV2Generator generator = generateIncremental(spec, output);
+    FragmentCache fragmentCache = generator.getFragmentCache();
+    assertEquals(0, fragmentCache.getReused());
+    assertEquals(3, fragmentCache.getRebuilt());
+    assertEquals(generateStreaming(spec), readCollection(output));
+    long requestItems = generator.getMetrics().getRequestItems();
+    long responses = generator.getMetrics().getResponses();
+    assertTrue(requestItems > 0);
+    assertTrue(responses > 0);
+
+    // unchanged spec: all items reused, counted with the requests and responses of their fragments
+    generator = generateIncremental(spec, output);
+    fragmentCache = generator.getFragmentCache();
+    assertEquals(3, fragmentCache.getReused());
+    assertEquals(0, fragmentCache.getRebuilt());
+    assertEquals(generateStreaming(spec), readCollection(output));
+    assertEquals(requestItems, generator.getMetrics().getRequestItems());
+    assertEquals(responses, generator.getMetrics().getResponses());
+
+    // example referenced by one operation changed: its item is rebuilt, the stale fragment removed
+    String content = new String(Files.readAllBytes(spec), StandardCharsets.UTF_8);
+    Files.write(spec, content.replace("channel: iOS", "channel: Web").getBytes(StandardCharsets.UTF_8));
+
+    generator = generateIncremental(spec, output);
+    fragmentCache = generator.getFragmentCache();
+    assertEquals(2, fragmentCache.getReused());
+    assertEquals(1, fragmentCache.getRebuilt());
+    assertEquals(1, fragmentCache.getRemoved());
+    assertEquals(generateStreaming(spec), readCollection(output));
+    TestUtils.assertFileContains(output.toPath().resolve("postman.json"), "\\\"channel\\\" : \\\"Web\\\"");
+  }
+
+  private PostmanV2Generator generateIncremental(Path spec, File output) {
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .setInputSpec(spec.toString().replace("\\", "/"))
+            .addAdditionalProperty(PostmanV2Generator.INCREMENTAL, true)
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    final ClientOptInput clientOptInput = configurator.toClientOptInput();
+    new DefaultGenerator().opts(clientOptInput).generate();
+
+    return (PostmanV2Generator) clientOptInput.getConfig();
+  }
+
+  private String generateStreaming(Path spec) throws IOException {
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .setInputSpec(spec.toString().replace("\\", "/"))
+            .addAdditionalProperty(PostmanV2Generator.OUTPUT_ENGINE, "Streaming")
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+    List<File> files = new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    return readCollection(output);
+  }
+
+  @Test
+  public void testOperationFilters() throws IOException {
+    final ObjectMapper mapper = new ObjectMapper();
+    JsonNode all = mapper.readTree(generateCheckoutService(Map.of()).toFile());
+
+    Path path = generateCheckoutService(Map.of(
+            PostmanV2Generator.INCLUDE_TAGS, "Payments|Modifications",
+            PostmanV2Generator.EXCLUDE_PATHS, "/payments/*/cancels",
+            PostmanV2Generator.GENERATE_METRICS, true));
+    JsonNode filtered = mapper.readTree(path.toFile());
+
+    // folders of the included tags only
+    assertEquals(2, filtered.get("item").size());
+    assertEquals("Modifications", filtered.get("item").get(0).get("name").asText());
+    assertEquals("Payments", filtered.get("item").get(1).get("name").asText());
+    // same requests as in the full collection, except the excluded path
+    JsonNode modifications = all.get("item").get(findFolder(all, "Modifications"));
+    assertEquals(modifications.get("item").size() - 1, filtered.get("item").get(0).get("item").size());
+    assertEquals(all.get("item").get(findFolder(all, "Payments")), filtered.get("item").get(1));
+    TestUtils.assertFileNotContains(path, "/payments/:paymentPspReference/cancels");
+
+    JsonNode metrics = mapper.readTree(path.resolveSibling(PostmanV2Generator.METRICS_FILE).toFile());
+    assertEquals(11, metrics.path("counters").path("operations").asInt());
+    assertEquals(14, metrics.path("counters").path("filteredOperations").asInt());
+  }
+
+  @Test
+  public void testPruneComponents() throws IOException {
+    final ObjectMapper mapper = new ObjectMapper();
+
+    for (String requestParameterGeneration : List.of("Example", "Schema")) {
+      JsonNode expected = mapper.readTree(generateCheckoutService(Map.of(
+              PostmanV2Generator.INCLUDE_TAGS, "Payments",
+              PostmanV2Generator.REQUEST_PARAMETER_GENERATION, requestParameterGeneration)).toFile());
+      Path path = generateCheckoutService(Map.of(
+              PostmanV2Generator.INCLUDE_TAGS, "Payments",
+              PostmanV2Generator.REQUEST_PARAMETER_GENERATION, requestParameterGeneration,
+              PostmanV2Generator.PRUNE_COMPONENTS, true,
+              PostmanV2Generator.GENERATE_METRICS, true));
+
+      // same collection without the components of the other operations
+      assertEquals(expected, mapper.readTree(path.toFile()));
+      JsonNode metrics = mapper.readTree(path.resolveSibling(PostmanV2Generator.METRICS_FILE).toFile());
+      assertTrue(metrics.path("counters").path("prunedComponents").asInt() > 0);
+    }
+  }
+
+  private int findFolder(JsonNode collection, String name) {
+    for (int i = 0; i < collection.get("item").size(); i++) {
+      if (collection.get("item").get(i).get("name").asText().equals(name)) {
+        return i;
+      }
+    }
+    throw new AssertionError("Folder not found: " + name);
+  }
+
+  private Path generateCheckoutService(Map<String, Object> additionalProperties) throws IOException {
+    File output = Files.createTempDirectory("postmantest_").toFile();
+    output.deleteOnExit();
+
+    final CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("postman-v2")
+            .setInputSpec("./src/test/resources/CheckoutService-v71.yaml")
+            .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+    additionalProperties.forEach(configurator::addAdditionalProperty);
+
+    List<File> files = new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+    files.forEach(File::deleteOnExit);
+
+    return Paths.get(output + "/postman.json");
+  }
+
+  private String readCollection(File output) throws IOException {
+    return new String(Files.readAllBytes(Paths.get(output + "/postman.json")), StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,96 @@
+package com.adyen.codegen.postman;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class PostmanWatcherTest {
+
+    @Test
+    public void watchReferencedFiles() throws IOException {
+        Path directory = createTempDirectory();
+        Files.createDirectories(directory.resolve("components"));
+        Files.write(directory.resolve("openapi.yaml"), ("paths:\n" +
+                "  /payments:\n" +
+                "    $ref: 'components/payments.yaml#/paths/payments'\n" +
+                "components:\n" +
+                "  schemas:\n" +
+                "    Amount:\n" +
+                "      $ref: \"#/components/schemas/Money\"\n" +
+                "    Remote:\n" +
+                "      $ref: 'https://example.com/schemas.yaml#/Remote'\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("components/payments.yaml"),
+                "{\"$ref\": \"../examples.json\"}".getBytes(StandardCharsets.UTF_8));
+
+        PostmanBatchGenerator.Spec spec = new PostmanBatchGenerator.Spec(
+                directory.resolve("openapi.yaml").toString(), directory.resolve("output"), Map.of());
+
+        Set<Path> files = new PostmanWatcher(spec, 0).getWatchedFiles();
+
+        assertEquals(Set.of(
+                directory.resolve("openapi.yaml").toAbsolutePath(),
+                directory.resolve("components/payments.yaml").toAbsolutePath(),
+                directory.resolve("examples.json").toAbsolutePath()), files);
+    }
+
+    @Test(timeout = 120000)
+    public void regenerateOnChange() throws Exception {
+        Path directory = createTempDirectory();
+        Path inputSpec = directory.resolve("CheckoutBasic.yaml");
+        Files.copy(Paths.get("src/test/resources/CheckoutBasic.yaml"), inputSpec);
+        Path collection = directory.resolve("output/postman.json");
+
+        PostmanWatcher watcher = new PostmanWatcher(
+                new PostmanBatchGenerator.Spec(inputSpec.toString(), directory.resolve("output"), Map.of()), 100);
+        BlockingQueue<PostmanBatchGenerator.Result> results = new LinkedBlockingQueue<>();
+        watcher.addListener(results::add);
+
+        Thread thread = new Thread(() -> {
+            try {
+                watcher.run();
+            } catch (IOException | InterruptedException e) {
+                // stopped
+            }
+        });
+        thread.start();
+
+        try {
+            // initial generation
+            PostmanBatchGenerator.Result result = results.poll(60, TimeUnit.SECONDS);
+            assertNotNull(result);
+            assertTrue(result.isSuccess());
+            TestUtils.assertFileContains(collection, "\\\"channel\\\" : \\\"iOS\\\"");
+
+            String content = new String(Files.readAllBytes(inputSpec), StandardCharsets.UTF_8);
+            Files.write(inputSpec, content.replace("channel: iOS", "channel: Web").getBytes(StandardCharsets.UTF_8));
+
+            result = results.poll(60, TimeUnit.SECONDS);
+            assertNotNull(result);
+            assertTrue(result.isSuccess());
+            TestUtils.assertFileContains(collection, "\\\"channel\\\" : \\\"Web\\\"");
+        } finally {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    private Path createTempDirectory() throws IOException {
+        File directory = Files.createTempDirectory("postmantest_").toFile();
+        directory.deleteOnExit();
+        return directory.toPath();
+    }
+}
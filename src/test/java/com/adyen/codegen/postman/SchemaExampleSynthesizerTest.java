@@ -0,0 +1,181 @@
+package com.adyen.codegen.postman;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.media.UUIDSchema;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SchemaExampleSynthesizerTest {
+
+    @Test
+    public void placeholders() {
+        assertEquals("<string>", SchemaExampleSynthesizer.getPlaceholder(new StringSchema()));
+        assertEquals("<number>", SchemaExampleSynthesizer.getPlaceholder(new IntegerSchema()));
+        assertEquals("<boolean>", SchemaExampleSynthesizer.getPlaceholder(new BooleanSchema()));
+        assertEquals("<date>", SchemaExampleSynthesizer.getPlaceholder(new DateSchema()));
+        assertEquals("<date-time>", SchemaExampleSynthesizer.getPlaceholder(new DateTimeSchema()));
+        assertEquals("<uuid>", SchemaExampleSynthesizer.getPlaceholder(new UUIDSchema()));
+    }
+
+    @Test
+    public void nestedSchemas() {
+        OpenAPI openAPI = createOpenAPI();
+        openAPI.getComponents()
+                .addSchemas("Payment", new ObjectSchema()
+                        .addProperty("amount", ref("Amount"))
+                        .addProperty("channel", new StringSchema()._enum(List.of("Web", "iOS")))
+                        .addProperty("lineItems", new ArraySchema().items(new ObjectSchema()
+                                .addProperty("id", new StringSchema())
+                                .addProperty("quantity", new IntegerSchema())))
+                        .addProperty("metadata", new MapSchema().additionalProperties(new StringSchema()))
+                        .addProperty("pspReference", new StringSchema().readOnly(true)));
+
+        Object example = new SchemaExampleSynthesizer(openAPI).synthesize(ref("Payment"));
+
+        assertEquals(Map.of(
+                "amount", Map.of("currency", "<string>", "value", "<number>"),
+                "channel", "Web",
+                "lineItems", List.of(Map.of("id", "<string>", "quantity", "<number>")),
+                "metadata", Map.of("<string>", "<string>")), example);
+    }
+
+    @Test
+    public void composedSchemas() {
+        OpenAPI openAPI = createOpenAPI();
+        openAPI.getComponents()
+                .addSchemas("CardDetails", new ObjectSchema().addProperty("number", new StringSchema()))
+                .addSchemas("IdealDetails", new ObjectSchema().addProperty("issuer", new StringSchema()))
+                .addSchemas("Refund", new ComposedSchema()
+                        .addAllOfItem(ref("Amount"))
+                        .addAllOfItem(new ObjectSchema().addProperty("reference", new StringSchema())))
+                .addSchemas("PaymentMethod", new ComposedSchema()
+                        .addOneOfItem(ref("CardDetails"))
+                        .addOneOfItem(ref("IdealDetails")));
+
+        SchemaExampleSynthesizer synthesizer = new SchemaExampleSynthesizer(openAPI);
+
+        assertEquals(Map.of("currency", "<string>", "value", "<number>", "reference", "<string>"), synthesizer.synthesize(ref("Refund")));
+        // first option
+        assertEquals(Map.of("number", "<string>"), synthesizer.synthesize(ref("PaymentMethod")));
+    }
+
+    @Test
+    public void recursiveSchema() {
+        OpenAPI openAPI = createOpenAPI();
+        openAPI.getComponents().addSchemas("Category", new ObjectSchema()
+                .addProperty("name", new StringSchema())
+                .addProperty("subCategories", new ArraySchema().items(ref("Category"))));
+
+        SchemaExampleSynthesizer synthesizer = new SchemaExampleSynthesizer(openAPI);
+
+        // cut at the second occurrence
+        assertEquals(Map.of("name", "<string>", "subCategories", List.of(Map.of())), synthesizer.synthesize(ref("Category")));
+        // incomplete example not cached
+        assertEquals(0, synthesizer.size());
+    }
+
+    @Test
+    public void maxDepth() {
+        Schema<?> schema = new StringSchema();
+        for (int i = 0; i < 2 * SchemaExampleSynthesizer.MAX_DEPTH; i++) {
+            schema = new ObjectSchema().addProperty("child", schema);
+        }
+
+        Object example = new SchemaExampleSynthesizer(createOpenAPI()).synthesize(schema);
+
+        int depth = 0;
+        while (example instanceof Map && !((Map<?, ?>) example).isEmpty()) {
+            example = ((Map<?, ?>) example).get("child");
+            depth++;
+        }
+        assertEquals(SchemaExampleSynthesizer.MAX_DEPTH, depth);
+    }
+
+    @Test
+    public void sharedExamples() {
+        OpenAPI openAPI = createOpenAPI();
+        openAPI.getComponents()
+                .addSchemas("Payment", new ObjectSchema().addProperty("amount", ref("Amount")))
+                .addSchemas("Refund", new ObjectSchema().addProperty("amount", ref("Amount")));
+
+        SchemaExampleSynthesizer synthesizer = new SchemaExampleSynthesizer(openAPI);
+        Map<?, ?> payment = (Map<?, ?>) synthesizer.synthesize(ref("Payment"));
+        Map<?, ?> refund = (Map<?, ?>) synthesizer.synthesize(ref("Refund"));
+
+        // Amount built once
+        assertSame(payment.get("amount"), refund.get("amount"));
+        assertEquals(3, synthesizer.getMisses());
+        assertEquals(1, synthesizer.getHits());
+        assertSame(payment, synthesizer.synthesize(ref("Payment")));
+    }
+
+    @Test
+    public void sharedExampleAtDifferentDepths() {
+        OpenAPI openAPI = createOpenAPI();
+        // Amount nested below MAX_DEPTH levels
+        Schema<?> deep = ref("Amount");
+        for (int i = 0; i < SchemaExampleSynthesizer.MAX_DEPTH; i++) {
+            deep = new ObjectSchema().addProperty("child", deep);
+        }
+        openAPI.getComponents()
+                .addSchemas("Payment", new ObjectSchema().addProperty("amount", ref("Amount")))
+                .addSchemas("Deep", deep);
+
+        SchemaExampleSynthesizer topFirst = new SchemaExampleSynthesizer(openAPI);
+        Object payment = topFirst.synthesize(ref("Payment"));
+        Object deepExample = topFirst.synthesize(ref("Deep"));
+
+        SchemaExampleSynthesizer deepFirst = new SchemaExampleSynthesizer(openAPI);
+        assertEquals(deepExample, deepFirst.synthesize(ref("Deep")));
+        assertEquals(payment, deepFirst.synthesize(ref("Payment")));
+
+        // Amount cut by the depth (not the cached example)
+        Object amount = deepExample;
+        for (int i = 0; i < SchemaExampleSynthesizer.MAX_DEPTH; i++) {
+            amount = ((Map<?, ?>) amount).get("child");
+        }
+        assertEquals(Map.of(), amount);
+        assertEquals(Map.of("currency", "<string>", "value", "<number>"), ((Map<?, ?>) payment).get("amount"));
+    }
+
+    @Test
+    public void serializeExample() {
+        OpenAPI openAPI = createOpenAPI();
+        openAPI.getComponents().addSchemas("Payment", new ObjectSchema()
+                .addProperty("amount", ref("Amount"))
+                .addProperty("tags", new ArraySchema().items(new StringSchema())));
+
+        String json = new ExampleJsonHelper().getJsonFromSchemaExample(new SchemaExampleSynthesizer(openAPI).synthesize(ref("Payment")));
+
+        assertEquals("{\\n \\\"amount\\\": {\\n \\\"currency\\\": \\\"<string>\\\",\\n \\\"value\\\": \\\"<number>\\\"\\n},\\n " +
+                "\\\"tags\\\": [\\\"<string>\\\"]\\n}", json);
+        assertEquals("[]", new ExampleJsonHelper().getJsonFromSchemaExample(List.of()));
+    }
+
+    private static Schema<?> ref(String name) {
+        return new Schema<>().$ref("#/components/schemas/" + name);
+    }
+
+    private static OpenAPI createOpenAPI() {
+        return new OpenAPI().components(new Components()
+                .addSchemas("Amount", new ObjectSchema()
+                        .addProperty("currency", new StringSchema())
+                        .addProperty("value", new IntegerSchema().format("int64"))));
+    }
+}
@@ -0,0 +1,31 @@
+package com.adyen.codegen.postman;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class SharedRequestLambdaTest {
+
+    @Test
+    public void renderOncePerRequest() {
+        Map<String, String> first = Map.of("method", "POST");
+        Map<String, String> second = Map.of("method", "GET");
+        SharedRequestLambda lambda = new SharedRequestLambda();
+
+        // request followed by the originalRequest of its responses (same object)
+        Template template = Mustache.compiler().compile(
+                "{{#requests}}{{#request}}{{#shared}}[{{method}}]{{/shared}}{{/request}}{{/requests}}");
+        String result = template.execute(Map.of(
+                "shared", lambda,
+                "requests", List.of(Map.of("request", first), Map.of("request", first), Map.of("request", second))));
+
+        assertEquals("[POST][POST][GET]", result);
+        assertEquals(2, lambda.getRendered());
+        assertEquals(1, lambda.getReused());
+    }
+}
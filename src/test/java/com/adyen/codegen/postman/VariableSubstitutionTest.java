@@ -0,0 +1,84 @@
+package com.adyen.codegen.postman;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class VariableSubstitutionTest {
+
+    @Test
+    public void substitutePostmanAndGeneratedVariables() {
+        final String BODY = "{\\n \\\"merchantAccount\\\": \\\"YOUR_MERCHANT_ACCOUNT\\\",\\n \\\"reference\\\": \\\"REFERENCE\\\",\\n \\\"shopper\\\": \\\"YOUR_MERCHANT_ACCOUNT\\\"\\n}";
+        final String EXPECTED = "{\\n \\\"merchantAccount\\\": \\\"{{YOUR_MERCHANT_ACCOUNT}}\\\",\\n \\\"reference\\\": \\\"{{$guid}}\\\",\\n \\\"shopper\\\": \\\"{{YOUR_MERCHANT_ACCOUNT}}\\\"\\n}";
+
+        VariableSubstitution variableSubstitution = new VariableSubstitution(
+                new String[]{"YOUR_MERCHANT_ACCOUNT"}, new String[]{"REFERENCE"});
+
+        Set<String> matchedVariables = new HashSet<>();
+        assertEquals(EXPECTED, variableSubstitution.substitute(BODY, matchedVariables));
+        assertEquals(Set.of("YOUR_MERCHANT_ACCOUNT"), matchedVariables);
+    }
+
+    @Test
+    public void matchWholeWordsOnly() {
+        VariableSubstitution variableSubstitution = new VariableSubstitution(new String[]{"ID"}, null);
+
+        Set<String> matchedVariables = new HashSet<>();
+        assertEquals("\\\"PAYMENT_ID\\\": \\\"{{ID}}\\\"",
+                variableSubstitution.substitute("\\\"PAYMENT_ID\\\": \\\"ID\\\"", matchedVariables));
+        assertEquals(Set.of("ID"), matchedVariables);
+    }
+
+    @Test
+    public void matchAfterEscapeSequences() {
+        VariableSubstitution variableSubstitution = new VariableSubstitution(new String[]{"YOUR_MERCHANT_ACCOUNT", "ID"}, null);
+
+        Set<String> matchedVariables = new HashSet<>();
+        assertEquals("{\\n \\\"note\\\": \\\"line\\n{{YOUR_MERCHANT_ACCOUNT}}\\\"}",
+                variableSubstitution.substitute("{\\n \\\"note\\\": \\\"line\\nYOUR_MERCHANT_ACCOUNT\\\"}", matchedVariables));
+        assertEquals("\\u00e9{{ID}} \\t{{ID}}", variableSubstitution.substitute("\\u00e9ID \\tID", matchedVariables));
+        // escaped backslash followed by a word
+        assertEquals("\\\\nID", variableSubstitution.substitute("\\\\nID", matchedVariables));
+        assertEquals(Set.of("YOUR_MERCHANT_ACCOUNT", "ID"), matchedVariables);
+    }
+
+    @Test
+    public void matchLongestName() {
+        VariableSubstitution variableSubstitution = new VariableSubstitution(new String[]{"MY_VAR", "MY_VAR_2"}, null);
+
+        Set<String> matchedVariables = new HashSet<>();
+        assertEquals("\\\"{{MY_VAR_2}}\\\", \\\"{{MY_VAR}}\\\"",
+                variableSubstitution.substitute("\\\"MY_VAR_2\\\", \\\"MY_VAR\\\"", matchedVariables));
+        assertEquals(Set.of("MY_VAR", "MY_VAR_2"), matchedVariables);
+    }
+
+    @Test
+    public void skipDefinedVariables() {
+        VariableSubstitution variableSubstitution = new VariableSubstitution(new String[]{"MY_VAR"}, null);
+
+        Set<String> matchedVariables = new HashSet<>();
+        assertEquals("\\\"{{MY_VAR}}\\\"", variableSubstitution.substitute("\\\"{{MY_VAR}}\\\"", matchedVariables));
+        assertTrue(matchedVariables.isEmpty());
+    }
+
+    @Test
+    public void postmanVariableOverridesGeneratedVariable() {
+        VariableSubstitution variableSubstitution = new VariableSubstitution(new String[]{"MY_VAR"}, new String[]{"MY_VAR"});
+
+        Set<String> matchedVariables = new HashSet<>();
+        assertEquals("\\\"{{MY_VAR}}\\\"", variableSubstitution.substitute("\\\"MY_VAR\\\"", matchedVariables));
+    }
+
+    @Test
+    public void noMatch() {
+        final String BODY = "{\\n \\\"id\\\": 777\\n}";
+        VariableSubstitution variableSubstitution = new VariableSubstitution(new String[]{"MY_VAR"}, new String[]{""});
+
+        assertSame(BODY, variableSubstitution.substitute(BODY, new HashSet<>()));
+    }
+}